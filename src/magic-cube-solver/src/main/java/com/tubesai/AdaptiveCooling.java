@@ -0,0 +1,65 @@
+package com.tubesai;
+
+/**
+ * Steers the temperature towards a target acceptance rate. After every window
+ * of proposals the measured acceptance rate is compared with the target: the
+ * temperature is lowered when too many proposals were accepted and raised
+ * when too few were. The target itself decays every window, so the search
+ * keeps cooling down overall.
+ */
+public class AdaptiveCooling implements ICoolingSchedule {
+    private final double initial_acceptance;
+    private final double acceptance_decay;
+    private final int window;
+    private final double adjustment;
+
+    private double targetAcceptance;
+    private int accepted;
+    private int proposals;
+
+    /**
+     * @param initial_acceptance the target acceptance rate of the first window
+     * @param acceptance_decay   the factor applied to the target after every
+     *                           window
+     * @param window             the number of proposals per window
+     * @param adjustment         the relative temperature change per window,
+     *                           e.g. 0.05 for 5%
+     */
+    public AdaptiveCooling(double initial_acceptance, double acceptance_decay, int window, double adjustment) {
+        this.initial_acceptance = initial_acceptance;
+        this.acceptance_decay = acceptance_decay;
+        this.window = window;
+        this.adjustment = adjustment;
+        reset();
+    }
+
+    @Override
+    public double nextTemperature(double temperature, boolean accepted, boolean improved) {
+        proposals++;
+        if (accepted) {
+            this.accepted++;
+        }
+        if (proposals < window) {
+            return temperature;
+        }
+
+        double rate = (double) this.accepted / proposals;
+        this.accepted = 0;
+        this.proposals = 0;
+
+        double next = rate > targetAcceptance ? temperature * (1 - adjustment) : temperature * (1 + adjustment);
+        targetAcceptance *= acceptance_decay;
+        return next;
+    }
+
+    @Override
+    public void reset() {
+        targetAcceptance = initial_acceptance;
+        accepted = 0;
+        proposals = 0;
+    }
+
+    public double getTargetAcceptance() {
+        return targetAcceptance;
+    }
+}
@@ -0,0 +1,70 @@
+package com.tubesai;
+
+import java.util.SplittableRandom;
+
+/**
+ * Fitness-proportionate selection with weight fitness + 1, using Vose's
+ * alias method. Building the table is O(n) once per generation and every
+ * pick is O(1): a random column, then either the column or its alias.
+ */
+public class AliasSelection implements ISelection {
+    private double[] probability = new double[0];
+    private int[] alias = new int[0];
+    private int[] small = new int[0];
+    private int[] large = new int[0];
+    private int size;
+
+    @Override
+    public void prepare(int[] fitness, int size) {
+        if (probability.length < size) {
+            probability = new double[size];
+            alias = new int[size];
+            small = new int[size];
+            large = new int[size];
+        }
+        this.size = size;
+
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += fitness[i] + 1;
+        }
+
+        // Skala bobot agar rata-ratanya 1, lalu pisahkan kolom kecil dan besar
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < size; i++) {
+            probability[i] = (double) (fitness[i] + 1) * size / sum;
+            if (probability[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            alias[less] = more;
+            probability[more] = probability[more] + probability[less] - 1.0;
+            if (probability[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+
+        // Sisa kolom bernilai 1 (selisih pembulatan)
+        while (largeCount > 0) {
+            probability[large[--largeCount]] = 1.0;
+        }
+        while (smallCount > 0) {
+            probability[small[--smallCount]] = 1.0;
+        }
+    }
+
+    @Override
+    public int select(SplittableRandom rand) {
+        int column = rand.nextInt(size);
+        return rand.nextDouble() < probability[column] ? column : alias[column];
+    }
+}
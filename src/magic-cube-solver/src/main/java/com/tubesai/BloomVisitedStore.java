@@ -0,0 +1,78 @@
+package com.tubesai;
+
+import java.util.Arrays;
+
+/**
+ * Visited-state store backed by a Bloom filter of fixed size. It never
+ * forgets a state, but may report an unvisited state as visited; the search
+ * then simply skips that neighbour. The false-positive rate holds up to the
+ * expected number of states and rises beyond it.
+ */
+public class BloomVisitedStore implements IVisitedStore {
+    private final long[] bits;
+    private final int bitCount;
+    private final int hashCount;
+
+    /**
+     * Sizes the filter for the given number of states and false-positive rate.
+     *
+     * @param expectedStates    the number of states the run is expected to visit
+     * @param falsePositiveRate the acceptable chance, in (0, 1), of reporting an
+     *                          unvisited state as visited
+     */
+    public BloomVisitedStore(int expectedStates, double falsePositiveRate) {
+        if (expectedStates <= 0) {
+            throw new IllegalArgumentException("Expected states must be positive.");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1.");
+        }
+
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-expectedStates * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.bitCount = (int) Math.min(Math.max(m, 64), Integer.MAX_VALUE - 63);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedStates * ln2));
+        this.bits = new long[(bitCount + 63) / 64];
+    }
+
+    @Override
+    public boolean contains(long hash) {
+        long h = mix(hash);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void add(long hash) {
+        long h = mix(hash);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(bits, 0L);
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    // Finalizer SplitMix64 agar kedua setengah hash tersebar merata
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+}
@@ -39,7 +39,7 @@ public class CubeVisualizer {
     private static ChartPanel probabilityChartPanel;
     private static Map<Integer, List<JLabel>> colorIndexToLabels = new HashMap<>();
     private static long executionTime;
-    private static int totalIterations;
+    private static long totalIterations;
     private static int localOptimumFrequency;
 
     /**
@@ -65,7 +65,7 @@ public class CubeVisualizer {
 
         CubeVisualizer.graphData = graphData;
         executionTime = (long) graphData.getExecutionTime();
-        totalIterations = graphData.getAllData().size();
+        totalIterations = graphData.getTotalIterations();
         if (graphData.getLocalOptimumFrequency() > 0) {
             localOptimumFrequency = graphData.getLocalOptimumFrequency();
         }
@@ -212,14 +212,15 @@ public class CubeVisualizer {
                 GraphData.IterationStats stats = entry.getValue();
                 double avgValue = stats.getAverage();
                 int maxValue = stats.getMax();
+                // Satu titik bisa mewakili beberapa iterasi, label memakai iterasi terakhirnya
+                String label = String.valueOf((long) (iteration + 1) * graphData.getIterationsPerPoint());
 
-                objFuncDataset.addValue(avgValue, "Average ObjFunc", String.valueOf(iteration + 1));
-                objFuncDataset.addValue(maxValue, "Max ObjFunc", String.valueOf(iteration + 1));
+                objFuncDataset.addValue(avgValue, "Average ObjFunc", label);
+                objFuncDataset.addValue(maxValue, "Max ObjFunc", label);
 
                 if (graphData.isSimulatedAnnealing()) {
                     double avgAcceptanceProbability = stats.getAverageAcceptanceProbability();
-                    probDataset.addValue(avgAcceptanceProbability, "Acceptance Probability",
-                            String.valueOf(iteration + 1));
+                    probDataset.addValue(avgAcceptanceProbability, "Acceptance Probability", label);
                 }
             }
             index++;
@@ -0,0 +1,46 @@
+package com.tubesai;
+
+import java.util.Arrays;
+
+/**
+ * Cycle crossover (CX). The cells split into cycles, where cell i leads to
+ * the cell holding the second parent's gene at i in the first parent. The
+ * child takes the first, third, ... cycle from the first parent and the
+ * others from the second, so every gene keeps the position it had in one of
+ * the parents. The segment is not used.
+ */
+public class CycleCrossover implements ICrossover {
+    private final int[] position = new int[MagicCube.CELL_COUNT + 1]; // posisi setiap nilai pada parent pertama
+    private final int[] visited = new int[MagicCube.CELL_COUNT]; // stempel panggilan terakhir yang mengunjungi sel
+    private int stamp;
+
+    @Override
+    public void crossover(int[] genes1, int offset1, int[] genes2, int offset2, int[] child, int childOffset,
+            int cut1, int cut2) {
+        for (int i = 0; i < MagicCube.CELL_COUNT; i++) {
+            position[genes1[offset1 + i]] = i;
+        }
+
+        // Stempel baru menggantikan pengosongan array visited
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(visited, 0);
+            stamp = 1;
+        }
+
+        boolean fromFirst = true;
+        for (int start = 0; start < MagicCube.CELL_COUNT; start++) {
+            if (visited[start] == stamp) {
+                continue;
+            }
+            int[] source = fromFirst ? genes1 : genes2;
+            int sourceOffset = fromFirst ? offset1 : offset2;
+            int i = start;
+            do {
+                visited[i] = stamp;
+                child[childOffset + i] = source[sourceOffset + i];
+                i = position[genes2[offset2 + i]];
+            } while (i != start);
+            fromFirst = !fromFirst;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.tubesai;
+
+/**
+ * Unbounded visited-state store holding every hash exactly, in an
+ * open-addressing table of primitive longs. Never forgets a state and never
+ * reports a false positive, but grows with the length of the run.
+ */
+public class ExactVisitedStore implements IVisitedStore {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private long[] table; // 0 marks an empty slot
+    private boolean hasZero; // hash 0 is stored here instead of in the table
+    private int size;
+
+    public ExactVisitedStore() {
+        this.table = new long[INITIAL_CAPACITY];
+    }
+
+    @Override
+    public boolean contains(long hash) {
+        if (hash == 0) {
+            return hasZero;
+        }
+        int mask = table.length - 1;
+        for (int slot = mix(hash) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            if (table[slot] == hash) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void add(long hash) {
+        if (hash == 0) {
+            hasZero = true;
+            return;
+        }
+        if (insert(table, hash)) {
+            size++;
+            if (size * 2 > table.length) {
+                grow();
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        table = new long[INITIAL_CAPACITY];
+        hasZero = false;
+        size = 0;
+    }
+
+    public int size() {
+        return size + (hasZero ? 1 : 0);
+    }
+
+    // Menyisipkan hash dengan linear probing, false jika sudah ada
+    private static boolean insert(long[] table, long hash) {
+        int mask = table.length - 1;
+        int slot = mix(hash) & mask;
+        while (table[slot] != 0) {
+            if (table[slot] == hash) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = hash;
+        return true;
+    }
+
+    private void grow() {
+        long[] bigger = new long[table.length * 2];
+        for (long hash : table) {
+            if (hash != 0) {
+                insert(bigger, hash);
+            }
+        }
+        table = bigger;
+    }
+
+    private static int mix(long hash) {
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
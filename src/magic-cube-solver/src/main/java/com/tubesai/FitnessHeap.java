@@ -0,0 +1,120 @@
+package com.tubesai;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of population members, keyed by an external fitness array,
+ * so the root is always the least fit member held. Used by
+ * {@link GeneticAlgorithm} to find the members to replace in O(log n) and to
+ * keep the fittest few members of a generation.
+ */
+public class FitnessHeap {
+    private int[] heap = new int[0];
+    private int[] fitness;
+    private int size;
+
+    /**
+     * Empties the heap and keys it by the given fitness array.
+     */
+    public void clear(int[] fitness) {
+        this.fitness = fitness;
+        this.size = 0;
+    }
+
+    /**
+     * Fills the heap with members 0..size-1 in O(n).
+     *
+     * @param fitness the fitness of every member
+     * @param size    the number of members
+     */
+    public void build(int[] fitness, int size) {
+        ensureCapacity(size);
+        this.fitness = fitness;
+        this.size = size;
+        for (int i = 0; i < size; i++) {
+            heap[i] = i;
+        }
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    /**
+     * Adds a member while keeping at most capacity members, those with the
+     * highest fitness. A member no fitter than the root of a full heap is
+     * dropped.
+     */
+    public void offer(int member, int capacity) {
+        if (size < capacity) {
+            ensureCapacity(size + 1);
+            heap[size] = member;
+            siftUp(size++);
+        } else if (capacity > 0 && fitness[member] > fitness[heap[0]]) {
+            heap[0] = member;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * @return the least fit member in the heap
+     */
+    public int peek() {
+        return heap[0];
+    }
+
+    /**
+     * Restores the heap after the fitness of the root member has changed,
+     * e.g. when its slot was overwritten by a new member.
+     */
+    public void updateTop() {
+        siftDown(0);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param i the position in the heap, from 0 to size() - 1
+     * @return the member at that position
+     */
+    public int get(int i) {
+        return heap[i];
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (heap.length < capacity) {
+            heap = Arrays.copyOf(heap, Math.max(capacity, 2 * heap.length));
+        }
+    }
+
+    private void siftUp(int i) {
+        int member = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (fitness[heap[parent]] <= fitness[member]) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = member;
+    }
+
+    private void siftDown(int i) {
+        int member = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && fitness[heap[child + 1]] < fitness[heap[child]]) {
+                child++;
+            }
+            if (fitness[member] <= fitness[heap[child]]) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = member;
+    }
+}
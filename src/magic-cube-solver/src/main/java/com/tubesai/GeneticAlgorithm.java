@@ -1,117 +1,307 @@
 package com.tubesai;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
 
+/**
+ * Genetic algorithm over cube permutations. The population is stored as
+ * structure of arrays: the genes of all members lie in one
+ * {@code int[population_size * 125]} buffer, member i at offset i * 125, and
+ * their fitness in a parallel {@code int[]}. The next generation is written
+ * into a second pair of buffers, which is swapped with the current one after
+ * every generation, so no cube objects are created while evolving.
+ *
+ * The initial population is the given cube, then any warm-start seeds, then
+ * random members from seeded Fisher-Yates shuffles.
+ *
+ * Parents are selected on the calling thread. The random initial members and
+ * the offspring are built in fixed chunks, in parallel on the common
+ * fork-join pool. Each chunk
+ * has its own random stream, split from the main one in chunk order, and
+ * writes only its own slots; offspring chunks also have their own crossover
+ * operator. The chunks do not depend on the thread count, so a seeded run
+ * gives the same result on any number of threads.
+ *
+ * With a local search budget above zero the GA is memetic: every child is
+ * refined by first-improvement swaps before it joins the next generation.
+ *
+ * Three replacement modes are available. GENERATIONAL replaces the whole
+ * population every generation. ELITIST does the same, but the fittest members
+ * then replace the worst children if they are fitter. STEADY_STATE breeds only
+ * a few children per generation, and each one replaces the worst member in
+ * place if it is fitter, found through a min-heap on fitness.
+ */
 public class GeneticAlgorithm implements IAlgorithm {
-    private List<MagicCube> populations;
+    public enum Replacement {
+        GENERATIONAL, ELITIST, STEADY_STATE
+    }
+
+    private static final int GENES = MagicCube.CELL_COUNT;
+    private static final int PAIRS_PER_CHUNK = 16;
+    private static final int MEMBERS_PER_SEED_CHUNK = 32;
+
+    // Populasi sekarang dan generasi berikutnya, ditukar setiap generasi
+    private int[] genes;
+    private int[] fitness;
+    private int[] nextGenes;
+    private int[] nextFitness;
+
     private int population_size;
     private double mutation_rate;
     private int max_generations;
-    private MagicCube bestCube;
+    private Supplier<ICrossover> crossover_factory;
+    private ISelection selection;
+    private boolean parallel = true;
+    private int local_search_steps;
+    private Replacement replacement = Replacement.GENERATIONAL;
+    private int replacement_count;
+    private int offspring; // jumlah anak per generasi
+    private FitnessHeap populationHeap; // seluruh populasi, akar = anggota terburuk
+    private FitnessHeap eliteHeap;
+
+    // Parent terpilih dan state setiap chunk offspring
+    private int[] parents;
+    private ICrossover[] chunkCrossovers;
+    private SplittableRandom[] chunkRandoms;
+    private MagicCube[] chunkCubes; // cube kerja local search setiap chunk
+    private int[][] chunkCandidates;
+
+    // Migrasi antar pulau, null jika GA berjalan sendiri
+    private ConcurrentLinkedQueue<int[]> inbox;
+    private ConcurrentLinkedQueue<int[]> outbox;
+    private int migration_interval;
+    private int migrants;
+    private List<int[]> seeds = new ArrayList<>(); // warm start, ditempatkan setelah cube awal
+    private int[] bestGenes;
+    private int bestFitness;
     private GraphData graphData;
+    private final SplittableRandom rand;
 
     public GeneticAlgorithm(int population_size, int max_generations, double mutation_rate) {
+        this(population_size, max_generations, mutation_rate, new SplittableRandom());
+    }
+
+    /**
+     * Creates a GA whose runs are reproducible: the same seed and settings
+     * give the same result, whatever the number of threads.
+     */
+    public GeneticAlgorithm(int population_size, int max_generations, double mutation_rate, long seed) {
+        this(population_size, max_generations, mutation_rate, new SplittableRandom(seed));
+    }
+
+    private GeneticAlgorithm(int population_size, int max_generations, double mutation_rate,
+            SplittableRandom rand) {
         this.population_size = population_size;
         this.max_generations = max_generations;
         this.mutation_rate = mutation_rate;
-        this.bestCube = new MagicCube(5);
-        this.populations = new ArrayList<>();
+        this.bestGenes = new int[GENES];
+        this.crossover_factory = PmxCrossover::new;
+        this.selection = new RouletteSelection();
         this.graphData = new GraphData(false);
+        this.rand = rand;
     }
 
     @Override
     public MagicCube getSolvedCube(MagicCube cube) {
         // Find best solution from population
         this.generateInitialPopulation(cube);
-        this.populations.set(0, cube);
         int i = 0;
         int best_eval;
         do {
-            List<MagicCube> new_mcs = new ArrayList<>();
-            for (int j = 0; j < this.population_size / 2; j++) {
-                MagicCube cube1 = this.randomMagicCube();
-                MagicCube cube2 = this.randomMagicCube();
-                List<MagicCube> children = this.crossover(cube1, cube2);
-                for (MagicCube child : children) {
-                    MagicCube mutated_child = this.mutate(child);
-                    graphData.addData(mutated_child.getFitness());
-                    new_mcs.add(mutated_child);
+            this.selection.prepare(this.fitness, this.population_size);
+            for (int k = 0; k < this.parents.length; k++) {
+                this.parents[k] = this.selection.select(rand);
+            }
+            for (int c = 0; c < this.chunkRandoms.length; c++) {
+                this.chunkRandoms[c] = rand.split();
+            }
+
+            this.runChunks(this::breedChunk, this.chunkRandoms.length);
+            for (int slot = 0; slot < this.offspring; slot++) {
+                graphData.addData(this.nextFitness[slot]);
+            }
+            if (this.replacement == Replacement.STEADY_STATE) {
+                this.replaceWorst();
+            } else {
+                if (this.replacement == Replacement.ELITIST) {
+                    this.keepElites();
                 }
+                this.swapGenerations();
             }
-            this.populations = new_mcs;
             i++;
+            if (this.outbox != null && i % this.migration_interval == 0) {
+                this.migrate();
+                if (this.replacement == Replacement.STEADY_STATE) {
+                    this.populationHeap.build(this.fitness, this.population_size);
+                }
+            }
             best_eval = this.getBestFitness();
             graphData.finishIteration();
-        } while (i < this.max_generations && best_eval < 90);
-        return this.bestCube;
+        } while (i < this.max_generations && best_eval < MagicCube.LINE_COUNT
+                && !Thread.currentThread().isInterrupted());
+        return new MagicCube(this.bestGenes);
     }
 
     private void generateInitialPopulation(MagicCube cube) {
-        // Generate random initial population of MagicCubes
-        for (int i = 0; i < this.population_size; i++) {
-            cube.moveToRandomState();
-            this.populations.add(cube);
+        this.genes = new int[this.population_size * GENES];
+        this.fitness = new int[this.population_size];
+        this.nextGenes = new int[this.population_size * GENES];
+        this.nextFitness = new int[this.population_size];
+
+        // Anggota pertama adalah cube awal, lalu seed warm start, sisanya acak
+        System.arraycopy(cube.toArray(), 0, this.genes, 0, GENES);
+        int fixed = 1;
+        for (int[] seed : this.seeds) {
+            if (fixed == this.population_size) {
+                break;
+            }
+            System.arraycopy(seed, 0, this.genes, fixed * GENES, GENES);
+            fixed++;
+        }
+        for (int i = 0; i < fixed; i++) {
+            this.fitness[i] = MagicCube.evaluate(this.genes, i * GENES);
+        }
+
+        int randomMembers = this.population_size - fixed;
+        SplittableRandom[] seedRandoms = new SplittableRandom[
+                (randomMembers + MEMBERS_PER_SEED_CHUNK - 1) / MEMBERS_PER_SEED_CHUNK];
+        for (int c = 0; c < seedRandoms.length; c++) {
+            seedRandoms[c] = rand.split();
+        }
+        final int firstRandom = fixed;
+        this.runChunks(c -> this.shuffleMembers(firstRandom + c * MEMBERS_PER_SEED_CHUNK,
+                Math.min(firstRandom + (c + 1) * MEMBERS_PER_SEED_CHUNK, this.population_size), seedRandoms[c]),
+                seedRandoms.length);
+
+        this.offspring = this.replacement == Replacement.STEADY_STATE
+                ? Math.min(this.replacement_count, this.population_size)
+                : this.population_size;
+        this.populationHeap = new FitnessHeap();
+        this.eliteHeap = new FitnessHeap();
+        if (this.replacement == Replacement.STEADY_STATE) {
+            this.populationHeap.build(this.fitness, this.population_size);
         }
-    }
 
-    private MagicCube randomMagicCube() {
-        Random rand = new Random();
-        int sum = 0;
-        for (MagicCube mc : this.populations) {
-            sum += mc.getFitness()+1;
+        int pairs = (this.offspring + 1) / 2;
+        int chunks = (pairs + PAIRS_PER_CHUNK - 1) / PAIRS_PER_CHUNK;
+        this.parents = new int[2 * pairs];
+        this.chunkRandoms = new SplittableRandom[chunks];
+        this.chunkCrossovers = new ICrossover[chunks];
+        this.chunkCubes = new MagicCube[chunks];
+        this.chunkCandidates = new int[chunks][GENES];
+        for (int c = 0; c < chunks; c++) {
+            this.chunkCrossovers[c] = this.crossover_factory.get();
+            this.chunkCubes[c] = new MagicCube(cube);
         }
-        double select = rand.nextDouble();
-        select *= sum;
-        int temp = 0;
-        for (MagicCube mc : this.populations) {
-            temp += mc.getFitness()+1;
-            if (select <= temp) {
-                return mc;
+
+        this.bestFitness = -1;
+        this.getBestFitness();
+    }
+
+    private void swapGenerations() {
+        int[] temp = this.genes;
+        this.genes = this.nextGenes;
+        this.nextGenes = temp;
+
+        temp = this.fitness;
+        this.fitness = this.nextFitness;
+        this.nextFitness = temp;
+    }
+
+    /**
+     * Fills members from..to (exclusive) with seeded Fisher-Yates shuffles of
+     * 1..125 and scores them.
+     */
+    private void shuffleMembers(int from, int to, SplittableRandom rand) {
+        for (int i = from; i < to; i++) {
+            int offset = i * GENES;
+            for (int j = 0; j < GENES; j++) {
+                this.genes[offset + j] = j + 1;
+            }
+            for (int j = GENES - 1; j > 0; j--) {
+                int k = rand.nextInt(j + 1);
+                int temp = this.genes[offset + j];
+                this.genes[offset + j] = this.genes[offset + k];
+                this.genes[offset + k] = temp;
             }
+            this.fitness[i] = MagicCube.evaluate(this.genes, offset);
         }
-        return null;
     }
 
-    private int[] translateCubetoArray(MagicCube mc) {
-        int size = mc.getSize();
-        int[] ret = new int[125];
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                for (int k = 0; k < size; k++) {
-                    Position pos = new Position(i, j, k);
-                    int index = i * 25 + j * 5 + k;
-                    ret[index] = mc.getCubeElement(pos);
+    /**
+     * Breeds chunk c, which fills the pairs c * PAIRS_PER_CHUNK onwards with
+     * its own operator and random stream.
+     */
+    private void breedChunk(int c) {
+        SplittableRandom chunkRand = this.chunkRandoms[c];
+        ICrossover operator = this.chunkCrossovers[c];
+        int firstPair = c * PAIRS_PER_CHUNK;
+        int lastPair = Math.min(firstPair + PAIRS_PER_CHUNK, this.parents.length / 2);
+        for (int pair = firstPair; pair < lastPair; pair++) {
+            int child = 2 * pair;
+            this.crossover(this.parents[child], this.parents[child + 1], child, operator, chunkRand);
+            for (int slot = child; slot < Math.min(child + 2, this.offspring); slot++) {
+                this.mutate(slot, chunkRand);
+                if (this.local_search_steps > 0) {
+                    this.localSearch(slot, this.chunkCubes[c], this.chunkCandidates[c], chunkRand);
                 }
             }
         }
-        return ret;
     }
 
-    private MagicCube translateArraytoCube(int[] arr) {
-        MagicCube ret = new MagicCube(5);
-        for (int i = 0; i < 5; i++) {
-            for (int j = 0; j < 5; j++) {
-                for (int k = 0; k < 5; k++) {
-                    Position pos = new Position(i, j, k);
-                    int index = i * 25 + j * 5 + k;
-                    ret.setCubeElement(pos, arr[index]);
-                }
+    /**
+     * Runs chunks 0..chunks-1, on the common fork-join pool when parallel.
+     * Chunks write disjoint slots, so their order does not matter.
+     */
+    private void runChunks(IntConsumer chunkAction, int chunks) {
+        if (this.parallel && chunks > 1 && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            ForkJoinPool.commonPool().invoke(new ChunkTask(chunkAction, 0, chunks));
+        } else {
+            for (int c = 0; c < chunks; c++) {
+                chunkAction.accept(c);
             }
         }
-        return ret;
     }
 
-    private List<MagicCube> crossover(MagicCube parent1, MagicCube parent2) {
-        // Combine two MagicCubes to create a new MagicCube
-        Random rand = new Random();
-        int[] arr_parent1 = this.translateCubetoArray(parent1);
-        int[] arr_parent2 = this.translateCubetoArray(parent2);
+    private static class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
 
-        int[] child1 = new int[125];
-        int[] child2 = new int[125];
-        Arrays.fill(child1, -1);
-        Arrays.fill(child2, -1);
+        private final IntConsumer chunkAction;
+        private final int from;
+        private final int to;
 
+        ChunkTask(IntConsumer chunkAction, int from, int to) {
+            this.chunkAction = chunkAction;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                for (int c = from; c < to; c++) {
+                    chunkAction.accept(c);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkTask(chunkAction, from, mid), new ChunkTask(chunkAction, mid, to));
+        }
+    }
+
+    /**
+     * Writes the offspring of the two parents into the next generation, at
+     * slots child and child + 1 (the second only if it exists). A child only
+     * replaces its parent if it is fitter, except in STEADY_STATE mode, where
+     * the real child is kept so that only new offspring compete for the worst
+     * members.
+     */
+    private void crossover(int parent1, int parent2, int child, ICrossover operator, SplittableRandom rand) {
+        // Combine two MagicCubes to create a new MagicCube
         int crossover_point1 = rand.nextInt(0, 124);
         int crossover_point2 = rand.nextInt(0, 124);
         if (crossover_point1 > crossover_point2) {
@@ -120,83 +310,282 @@ public class GeneticAlgorithm implements IAlgorithm {
             crossover_point2 = temp;
         }
 
-        for (int i = crossover_point1; i <= crossover_point2; i++) {
-            child1[i] = arr_parent1[i];
-            child2[i] = arr_parent2[i];
+        this.makeChild(parent1, parent2, child, crossover_point1, crossover_point2, operator);
+        if (child + 1 < this.offspring) {
+            this.makeChild(parent2, parent1, child + 1, crossover_point1, crossover_point2, operator);
+        }
+    }
+
+    private void makeChild(int parent1, int parent2, int slot, int cut1, int cut2, ICrossover operator) {
+        int offset = slot * GENES;
+        operator.crossover(this.genes, parent1 * GENES, this.genes, parent2 * GENES, this.nextGenes, offset, cut1,
+                cut2);
+        this.nextFitness[slot] = MagicCube.evaluate(this.nextGenes, offset);
+        // Pada steady-state, salinan parent akan menggandakan parent di populasi
+        if (this.replacement != Replacement.STEADY_STATE && this.nextFitness[slot] <= this.fitness[parent1]) {
+            this.copyMember(parent1, slot);
         }
+    }
 
-        Map<Integer, Integer> mapping1 = new HashMap<>();
-        Map<Integer, Integer> mapping2 = new HashMap<>();
-        for (int i = crossover_point1; i <= crossover_point2; i++) {
-            mapping1.put(arr_parent2[i], arr_parent1[i]);
-            mapping2.put(arr_parent1[i], arr_parent2[i]);
+    /**
+     * Lets the replacement_count fittest members of the current generation
+     * replace the worst children of the next one, each only if it is fitter
+     * than the child it replaces.
+     */
+    private void keepElites() {
+        this.eliteHeap.clear(this.fitness);
+        for (int i = 0; i < this.population_size; i++) {
+            this.eliteHeap.offer(i, this.replacement_count);
         }
 
-        for (int i = 0; i < 125; i++) {
-            if (child1[i] == -1) {
-                int gene = arr_parent2[i];
-                while (mapping1.containsKey(gene)) {
-                    gene = mapping1.get(gene);
-                }
-                child1[i] = gene;
+        this.populationHeap.build(this.nextFitness, this.population_size);
+        for (int k = 0; k < this.eliteHeap.size(); k++) {
+            int elite = this.eliteHeap.get(k);
+            int worst = this.populationHeap.peek();
+            if (this.fitness[elite] > this.nextFitness[worst]) {
+                this.copyMember(elite, worst);
+                this.populationHeap.updateTop();
             }
         }
+    }
 
-        for (int i = 0; i < 125; i++) {
-            if (child2[i] == -1) {
-                int gene = arr_parent1[i];
-                while (mapping2.containsKey(gene)) {
-                    gene = mapping2.get(gene);
-                }
-                child2[i] = gene;
+    /**
+     * Steady-state replacement: every child bred into the next-generation
+     * buffer replaces the worst member of the population in place if it is
+     * fitter. The population heap keeps the worst member at its root.
+     */
+    private void replaceWorst() {
+        for (int slot = 0; slot < this.offspring; slot++) {
+            int worst = this.populationHeap.peek();
+            if (this.nextFitness[slot] > this.fitness[worst]) {
+                System.arraycopy(this.nextGenes, slot * GENES, this.genes, worst * GENES, GENES);
+                this.fitness[worst] = this.nextFitness[slot];
+                this.populationHeap.updateTop();
             }
         }
+    }
 
-        MagicCube mc_child1 = this.translateArraytoCube(arr_parent1);
-        MagicCube mc_child2 = this.translateArraytoCube(arr_parent2);
+    private void copyMember(int member, int slot) {
+        System.arraycopy(this.genes, member * GENES, this.nextGenes, slot * GENES, GENES);
+        this.nextFitness[slot] = this.fitness[member];
+    }
 
-        List<MagicCube> ret = new ArrayList<>();
-        if (mc_child1.getFitness() > parent1.getFitness()) {
-            ret.add(mc_child1);
-        } else {
-            ret.add(parent1);
+    private void mutate(int slot, SplittableRandom rand) {
+        // Mutate the cube based on mutation rate
+        if (rand.nextDouble() < mutation_rate) {
+            int offset = slot * GENES;
+            int pos1 = rand.nextInt(GENES);
+            int pos2 = rand.nextInt(GENES);
+            while (pos1 == pos2) {
+                pos2 = rand.nextInt(GENES);
+            }
+            int temp = this.nextGenes[offset + pos1];
+            this.nextGenes[offset + pos1] = this.nextGenes[offset + pos2];
+            this.nextGenes[offset + pos2] = temp;
+            this.nextFitness[slot] = MagicCube.evaluate(this.nextGenes, offset);
         }
-        if (mc_child2.getFitness() > parent2.getFitness()) {
-            ret.add(mc_child2);
-        } else {
-            ret.add(parent2);
+    }
+
+    /**
+     * Sends copies of the fittest members to the outbox, then lets every
+     * member waiting in the inbox replace the current worst member. Neither
+     * queue blocks, so an island never waits on its neighbours.
+     */
+    private void migrate() {
+        int sent = Math.min(this.migrants, this.population_size);
+        boolean[] chosen = new boolean[this.population_size];
+        for (int k = 0; k < sent; k++) {
+            int best = -1;
+            for (int i = 0; i < this.population_size; i++) {
+                if (!chosen[i] && (best < 0 || this.fitness[i] > this.fitness[best])) {
+                    best = i;
+                }
+            }
+            chosen[best] = true;
+            this.outbox.offer(Arrays.copyOfRange(this.genes, best * GENES, (best + 1) * GENES));
         }
 
-        return ret;
+        int[] migrant;
+        while ((migrant = this.inbox.poll()) != null) {
+            int worst = 0;
+            for (int i = 1; i < this.population_size; i++) {
+                if (this.fitness[i] < this.fitness[worst]) {
+                    worst = i;
+                }
+            }
+            System.arraycopy(migrant, 0, this.genes, worst * GENES, GENES);
+            this.fitness[worst] = MagicCube.evaluate(this.genes, worst * GENES);
+        }
     }
 
-    private MagicCube mutate(MagicCube cube) {
-        // Mutate the cube based on mutation rate
-        Random rand = new Random();
-
-        int[] arr_chromosome = this.translateCubetoArray(cube);
+    /**
+     * Connects this GA to its neighbours in an island model. Every
+     * migration_interval generations the migrants fittest members are offered
+     * to the outbox, and members arriving in the inbox replace the worst.
+     *
+     * @param inbox              the queue other islands send members to
+     * @param outbox             the queue of the neighbouring island
+     * @param migration_interval the number of generations between migrations
+     * @param migrants           the number of members sent per migration
+     */
+    public void setMigration(ConcurrentLinkedQueue<int[]> inbox, ConcurrentLinkedQueue<int[]> outbox,
+            int migration_interval, int migrants) {
+        if (migration_interval < 1 || migrants < 0) {
+            throw new IllegalArgumentException("Migration interval must be positive and migrants non-negative.");
+        }
+        this.inbox = inbox;
+        this.outbox = outbox;
+        this.migration_interval = migration_interval;
+        this.migrants = migrants;
+    }
 
-        if (rand.nextDouble() < mutation_rate) {
-            int pos1 = rand.nextInt(arr_chromosome.length);
-            int pos2 = rand.nextInt(arr_chromosome.length);
-            while (pos1 == pos2) {
-                pos2 = rand.nextInt(arr_chromosome.length);
+    /**
+     * Refines a child with up to local_search_steps random swaps, keeping
+     * each one that raises the fitness. One cell of every swap lies on an
+     * unsatisfied line, since only such swaps can improve, and every swap is
+     * scored incrementally with {@link MagicCube#peekSwapDelta(int, int)}.
+     * 
+     * A sideways swap is tried through the move journal: it is applied, and
+     * kept only if a second swap from the new state raises the fitness;
+     * otherwise it is undone. This crosses one-step plateaus that single
+     * swaps cannot.
+     */
+    private void localSearch(int slot, MagicCube work, int[] candidates, SplittableRandom rand) {
+        int offset = slot * GENES;
+        work.load(this.nextGenes, offset);
+        work.clearJournal();
+        int count = work.getCandidateCells(candidates);
+        boolean improved = false;
+        for (int step = 0; step < this.local_search_steps && count > 0; step++) {
+            int index1 = candidates[rand.nextInt(count)];
+            int index2 = rand.nextInt(GENES);
+            int delta = work.peekSwapDelta(index1, index2);
+            if (delta > 0) {
+                work.moveToNeighbour(index1, index2);
+            } else if (delta == 0 && index1 != index2) {
+                // Coba swap sideways, lalu batalkan jika swap berikutnya tidak memperbaiki
+                work.applyMove(index1, index2);
+                int index3 = candidates[rand.nextInt(count)];
+                int index4 = rand.nextInt(GENES);
+                if (work.peekSwapDelta(index3, index4) <= 0) {
+                    work.undoMove();
+                    continue;
+                }
+                work.clearJournal();
+                work.moveToNeighbour(index3, index4);
+            } else {
+                continue;
             }
-            int temp = arr_chromosome[pos1];
-            arr_chromosome[pos1] = arr_chromosome[pos2];
-            arr_chromosome[pos2] = temp;
+            count = work.getCandidateCells(candidates);
+            improved = true;
+        }
+        if (improved) {
+            work.copyTo(this.nextGenes, offset);
+            this.nextFitness[slot] = work.getFitness();
         }
-        MagicCube mutated = this.translateArraytoCube(arr_chromosome);
-        return mutated;
     }
 
     private int getBestFitness() {
-        for (MagicCube mc : this.populations) {
-            if (this.bestCube.getFitness() < mc.getFitness()) {
-                this.bestCube.copyFrom(mc);
+        for (int i = 0; i < this.population_size; i++) {
+            if (this.bestFitness < this.fitness[i]) {
+                this.bestFitness = this.fitness[i];
+                System.arraycopy(this.genes, i * GENES, this.bestGenes, 0, GENES);
             }
         }
-        return this.bestCube.getFitness();
+        return this.bestFitness;
+    }
+
+    /**
+     * Sets the operator that combines two parents, e.g.
+     * {@code PmxCrossover::new}, {@code OrderCrossover::new} or
+     * {@code CycleCrossover::new}. Operators keep scratch buffers, so one is
+     * created for every offspring chunk.
+     *
+     * @param crossover_factory creates the crossover operators
+     */
+    public void setCrossover(Supplier<ICrossover> crossover_factory) {
+        this.crossover_factory = crossover_factory;
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Sets whether offspring chunks are bred on the common fork-join pool.
+     * The result does not depend on this setting.
+     *
+     * @param parallel true to breed in parallel
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    public ISelection getSelection() {
+        return selection;
+    }
+
+    /**
+     * Sets how parents are picked, e.g. {@link RouletteSelection},
+     * {@link AliasSelection}, {@link TournamentSelection} or
+     * {@link StochasticUniversalSampling}.
+     *
+     * @param selection the selection strategy
+     */
+    public void setSelection(ISelection selection) {
+        this.selection = selection;
+    }
+
+    /**
+     * Adds a warm-start member, e.g. a saved cube or the result of a local
+     * search. Seeds join the initial population right after the given cube,
+     * in the order they were added; the remaining members are random.
+     *
+     * @param seed the cube to start from
+     */
+    public void addSeed(MagicCube seed) {
+        this.seeds.add(seed.toArray());
+    }
+
+    public void clearSeeds() {
+        this.seeds.clear();
+    }
+
+    public Replacement getReplacement() {
+        return replacement;
+    }
+
+    /**
+     * Sets how the next generation replaces the current one.
+     *
+     * @param replacement       the replacement mode
+     * @param replacement_count the number of elites kept (ELITIST) or children
+     *                          bred per generation (STEADY_STATE); ignored for
+     *                          GENERATIONAL
+     */
+    public void setReplacement(Replacement replacement, int replacement_count) {
+        if (replacement != Replacement.GENERATIONAL && replacement_count < 1) {
+            throw new IllegalArgumentException("Replacement count must be at least 1.");
+        }
+        this.replacement = replacement;
+        this.replacement_count = replacement_count;
+    }
+
+    public int getLocalSearchSteps() {
+        return local_search_steps;
+    }
+
+    /**
+     * Sets how many swaps the local search tries on every child. Zero turns
+     * the local search off.
+     *
+     * @param local_search_steps the number of swaps tried per child
+     */
+    public void setLocalSearchSteps(int local_search_steps) {
+        if (local_search_steps < 0) {
+            throw new IllegalArgumentException("Local search steps must not be negative.");
+        }
+        this.local_search_steps = local_search_steps;
     }
 
     public int getPopulationSize() {
@@ -0,0 +1,17 @@
+package com.tubesai;
+
+/**
+ * Multiplies the temperature by (1 - cooling_rate) after every proposal.
+ */
+public class GeometricCooling implements ICoolingSchedule {
+    private final double factor;
+
+    public GeometricCooling(double cooling_rate) {
+        this.factor = 1 - cooling_rate;
+    }
+
+    @Override
+    public double nextTemperature(double temperature, boolean accepted, boolean improved) {
+        return temperature * factor;
+    }
+}
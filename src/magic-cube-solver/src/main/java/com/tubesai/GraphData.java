@@ -3,14 +3,21 @@ package com.tubesai;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
+import java.util.TreeMap;
 
 public class GraphData {
     private final Map<Integer, IterationStats> iterationData;
     private int currentIteration;
+    private IterationStats currentStats; // stats of currentIteration, cached for addData
+    private int iterationsPerPoint = 1;
+    private int pendingIterations; // iterations finished since the current point started
+    private long totalIterations;
     private InnerGraphData bestValue;
     private boolean isSimulatedAnnealing;
     private double executionTime;
     private int localOptimumFrequency;
+    private double restartsPerSecond;
+    private Map<Integer, Integer> restartDistribution = new TreeMap<>();
 
     public GraphData(boolean isSimulatedAnnealing) {
         this.iterationData = new HashMap<>();
@@ -24,6 +31,9 @@ public class GraphData {
         this.currentIteration = other.currentIteration;
         this.bestValue = other.bestValue != null ? new InnerGraphData(other.bestValue) : null;
         this.isSimulatedAnnealing = other.isSimulatedAnnealing;
+        this.iterationsPerPoint = other.iterationsPerPoint;
+        this.pendingIterations = other.pendingIterations;
+        this.totalIterations = other.totalIterations;
     }
 
     /**
@@ -36,23 +46,109 @@ public class GraphData {
     }
 
     public void addData(int objFuncValue, double accProbability) {
-        InnerGraphData newData = new InnerGraphData(objFuncValue, currentIteration, accProbability);
-
         if (bestValue == null || objFuncValue < bestValue.objFuncValue) {
-            bestValue = newData;
+            bestValue = new InnerGraphData(objFuncValue, currentIteration, accProbability);
+        }
+
+        if (currentStats == null) {
+            currentStats = iterationData.computeIfAbsent(currentIteration,
+                    k -> new IterationStats(isSimulatedAnnealing));
+        }
+
+        currentStats.addValue(objFuncValue, accProbability);
+    }
+
+    /**
+     * Adds a batch of objective function values to the current iteration at
+     * once, given only their count, sum, minimum and maximum. Used when the
+     * values are gathered elsewhere, e.g. by parallel workers.
+     *
+     * @param count the number of values in the batch
+     * @param sum   the sum of the values
+     * @param min   the smallest value
+     * @param max   the largest value
+     */
+    public void addBatch(int count, long sum, int min, int max) {
+        if (count == 0) {
+            return;
+        }
+        if (bestValue == null || min < bestValue.objFuncValue) {
+            bestValue = new InnerGraphData(min, currentIteration);
         }
 
-        IterationStats stats = iterationData.computeIfAbsent(currentIteration,
-                k -> new IterationStats(isSimulatedAnnealing));
+        if (currentStats == null) {
+            currentStats = iterationData.computeIfAbsent(currentIteration,
+                    k -> new IterationStats(isSimulatedAnnealing));
+        }
 
-        stats.addValue(objFuncValue, accProbability);
+        currentStats.addBatch(count, sum, min, max);
     }
 
     /**
-     * Increments the current iteration count by one.
+     * Merges the data of another run into this one, point by point. Points
+     * with the same number are combined, so runs that happen side by side,
+     * such as parallel chains, share one time axis. Iteration counts and
+     * local optimum frequencies are added up.
+     *
+     * @param other the graph data to merge into this one
+     */
+    public void merge(GraphData other) {
+        for (Map.Entry<Integer, IterationStats> entry : other.iterationData.entrySet()) {
+            iterationData.computeIfAbsent(entry.getKey(), k -> new IterationStats(isSimulatedAnnealing))
+                    .merge(entry.getValue());
+        }
+        if (other.bestValue != null
+                && (bestValue == null || other.bestValue.objFuncValue < bestValue.objFuncValue)) {
+            bestValue = new InnerGraphData(other.bestValue);
+        }
+        currentIteration = Math.max(currentIteration, other.currentIteration);
+        currentStats = null;
+        pendingIterations = 0;
+        totalIterations += other.totalIterations;
+        localOptimumFrequency += other.localOptimumFrequency;
+    }
+
+    /**
+     * Finishes one algorithm iteration. Once iterationsPerPoint iterations
+     * have finished, the current iteration count (the data point) moves on by
+     * one.
      */
     public void finishIteration() {
-        currentIteration++;
+        totalIterations++;
+        if (++pendingIterations >= iterationsPerPoint) {
+            pendingIterations = 0;
+            currentIteration++;
+            currentStats = null;
+        }
+    }
+
+    /**
+     * Groups every iterationsPerPoint consecutive algorithm iterations into a
+     * single data point, whose stats cover all values added during them. Long
+     * runs such as simulated annealing use this to keep one map entry per
+     * block instead of one per proposal.
+     *
+     * @param iterationsPerPoint the number of iterations per data point
+     */
+    public void setIterationsPerPoint(int iterationsPerPoint) {
+        if (iterationsPerPoint <= 0) {
+            throw new IllegalArgumentException("Iterations per point must be positive.");
+        }
+        this.iterationsPerPoint = iterationsPerPoint;
+    }
+
+    public int getIterationsPerPoint() {
+        return iterationsPerPoint;
+    }
+
+    /**
+     * Returns the number of finished algorithm iterations, regardless of how
+     * they are grouped into data points.
+     *
+     * @return the total number of finished iterations
+     */
+    public long getTotalIterations() {
+        return totalIterations;
     }
 
     /**
@@ -205,6 +301,28 @@ public class GraphData {
             }
         }
 
+        /**
+         * Adds a batch of values given only their count, sum, minimum and
+         * maximum. The acceptance probability of every value is taken as 0.
+         */
+        public void addBatch(int count, long sum, int min, int max) {
+            this.count += count;
+            this.sum += sum;
+            this.min = Math.min(this.min, min);
+            this.max = Math.max(this.max, max);
+        }
+
+        /**
+         * Adds all values of another stats object to this one.
+         */
+        public void merge(IterationStats other) {
+            this.count += other.count;
+            this.sum += other.sum;
+            this.min = Math.min(this.min, other.min);
+            this.max = Math.max(this.max, other.max);
+            this.accProbabilitySum += other.accProbabilitySum;
+        }
+
         /**
          * Calculates the average value.
          *
@@ -448,4 +566,44 @@ public class GraphData {
     public int getLocalOptimumFrequency() {
         return localOptimumFrequency;
     }
-}
\ No newline at end of file
+
+    /**
+     * Sets the number of completed restarts per second, for algorithms that
+     * run several independent searches.
+     *
+     * @param restartsPerSecond the restart throughput to set
+     */
+    public void setRestartsPerSecond(double restartsPerSecond) {
+        this.restartsPerSecond = restartsPerSecond;
+    }
+
+    /**
+     * Returns the number of completed restarts per second.
+     *
+     * @return the restart throughput, or 0 if the algorithm does not restart.
+     */
+    public double getRestartsPerSecond() {
+        return restartsPerSecond;
+    }
+
+    /**
+     * Sets how many restarts ended at each final fitness, for algorithms that
+     * run several independent searches.
+     *
+     * @param restartDistribution the restart count per final fitness
+     */
+    public void setRestartDistribution(Map<Integer, Integer> restartDistribution) {
+        this.restartDistribution = new TreeMap<>(restartDistribution);
+    }
+
+    /**
+     * Returns how many restarts ended at each final fitness, ordered by
+     * fitness.
+     *
+     * @return the restart count per final fitness, empty if the algorithm does
+     *         not restart.
+     */
+    public Map<Integer, Integer> getRestartDistribution() {
+        return restartDistribution;
+    }
+}
@@ -1,84 +1,275 @@
 package com.tubesai;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 public class HillClimbingSideMove implements IAlgorithm {
+    // Jumlah sel pertama yang discan langsung oleh satu task fork-join
+    private static final int SCAN_GRAIN = 4;
+
     private int max_side_moves;
+    private boolean parallel;
+    private boolean focused;
+    private IVisitedStore visited;
     private GraphData graphData;
 
     public HillClimbingSideMove(int max_side_moves) {
+        this(max_side_moves, false);
+    }
+
+    public HillClimbingSideMove(int max_side_moves, boolean parallel) {
+        this(max_side_moves, parallel, new ExactVisitedStore());
+    }
+
+    /**
+     * @param max_side_moves the number of consecutive sideways moves allowed
+     * @param parallel       whether to score each step's neighbours on the
+     *                       common ForkJoinPool; the chosen path is the same
+     *                       either way
+     * @param visited        the store remembering visited states; it is
+     *                       cleared at the start of every run
+     */
+    public HillClimbingSideMove(int max_side_moves, boolean parallel, IVisitedStore visited) {
         this.max_side_moves = max_side_moves;
+        this.parallel = parallel;
+        this.visited = visited;
         this.graphData = new GraphData(false);
     }
 
     @Override
     public MagicCube getSolvedCube(MagicCube cube) {
-        Map<String, Boolean> cubemap = new HashMap<>();
+        visited.clear();
         graphData.addData(cube.getFitness());
 
-        MagicCube prev = new MagicCube(cube);
-        cubemap.put(cube.sequence, true);
+        MagicCube current = new MagicCube(cube);
+        visited.add(current.getHash());
 
         int side_moves = 0; // Counter untuk menghitung sideways moves
 
         while (true) {
+            if (Thread.currentThread().isInterrupted()) {
+                return current; // Dihentikan dari luar, misalnya oleh RandomRestartHillClimbing
+            }
+
             graphData.finishIteration();
-            MagicCube next = new MagicCube(getNextNeighbour(prev, cubemap));
-            graphData.addData(next.getFitness());
-            
-            if (next.getFitness() > prev.getFitness()) {
-                    side_moves = 0; // Reset jika ada peningkatan fitness
-                } else if (next.getFitness() == prev.getFitness()) {
-                        side_moves++; // Increment jika fitness sama
-                        if (side_moves >= max_side_moves) {
-                                return prev; // Hentikan pencarian
-                            }
+            int move = getBestMove(current, visited);
+            if (move < 0) {
+                graphData.addData(current.getFitness());
+                return current; // Tidak ada tetangga yang lebih baik atau sama
             }
 
-            if (next.sequence.equals(prev.sequence)) {
-                return next;
+            int index1 = move / MagicCube.CELL_COUNT;
+            int index2 = move % MagicCube.CELL_COUNT;
+            int nextFitness = current.getFitness() + current.peekSwapDelta(index1, index2);
+            graphData.addData(nextFitness);
+
+            if (nextFitness > current.getFitness()) {
+                side_moves = 0; // Reset jika ada peningkatan fitness
+            } else {
+                side_moves++; // Increment jika fitness sama
+                if (side_moves >= max_side_moves) {
+                    return current; // Hentikan pencarian
+                }
             }
-                
-            cubemap.put(next.sequence, true);
-            prev = new MagicCube(next);
+
+            current.moveToNeighbour(index1, index2);
+            visited.add(current.getHash());
         }
     }
 
-    public MagicCube getNextNeighbour(MagicCube cube, Map<String, Boolean> cubemap) {
+    /**
+     * Returns the best unvisited neighbour of the given cube as a new MagicCube,
+     * or a copy of the cube itself when no neighbour is at least as good.
+     *
+     * @param cube    the current state
+     * @param visited the states visited so far
+     * @return the chosen neighbouring state
+     */
+    public MagicCube getNextNeighbour(MagicCube cube, IVisitedStore visited) {
         MagicCube result = new MagicCube(cube);
-        int dimension = cube.getSize();
-
-        for (int i = 0; i < dimension; i++) {
-            for (int j = 0; j < dimension; j++) {
-                for (int k = 0; k < dimension; k++) {
-
-                    for (int z = i; z < dimension; z++) {
-                        for (int x = (z == i) ? j : 0; x < dimension; x++) {
-                            for (int c = (z == i && x == j) ? k + 1 : 0; c < dimension; c++) { // loop pembangkitan next state yang mungkin
-                                MagicCube tempCube = new MagicCube(cube);
-
-                                tempCube.moveToNeighbour(new Position(i, j, k), new Position(z, x, c));
-                                graphData.addData(tempCube.getFitness());
-                                
-                                if (tempCube.getFitness() >= result.getFitness()
-                                && !cubemap.containsKey(tempCube.sequence)) {
-                                    result = new MagicCube(tempCube); // Memilih tetangga dengan nilai fungsi yang lebih tinggi
-                                }
-                            }
-                        }
-                    }
+        int move = getBestMove(cube, visited);
+        if (move >= 0) {
+            result.moveToNeighbour(move / MagicCube.CELL_COUNT, move % MagicCube.CELL_COUNT);
+        }
+        return result;
+    }
+
+    /**
+     * Scans every swap of two distinct cells and picks the unvisited one with
+     * the highest fitness, preferring the later pair in scan order on ties.
+     * Candidates are scored with {@link MagicCube#peekSwapDelta(int, int)}, so
+     * the scan does not copy or change the cube.
+     *
+     * @param cube    the current state
+     * @param visited the states visited so far
+     * @return the chosen move encoded as index1 * 125 + index2, or -1 when no
+     *         unvisited neighbour is at least as good as the current state
+     */
+    private int getBestMove(MagicCube cube, IVisitedStore visited) {
+        ScanContext context = new ScanContext(cube, visited, focused);
+        ScanResult result = parallel
+                ? ForkJoinPool.commonPool().invoke(new ScanTask(context, 0, MagicCube.CELL_COUNT))
+                : scanRange(context, 0, MagicCube.CELL_COUNT);
+
+        graphData.addBatch(result.count, result.sum, result.min, result.max);
+        return result.bestMove;
+    }
 
+    /**
+     * Scans the swaps whose first cell lies in [from, to). Only reads the cube
+     * and the visited set, so disjoint ranges can be scanned concurrently.
+     */
+    private static ScanResult scanRange(ScanContext context, int from, int to) {
+        ScanResult result = new ScanResult();
+        for (int index1 = from; index1 < to; index1++) {
+            if (context.isCandidate == null || context.isCandidate[index1]) {
+                for (int index2 = index1 + 1; index2 < MagicCube.CELL_COUNT; index2++) { // loop pembangkitan next state yang mungkin
+                    scanMove(context, result, index1, index2);
+                }
+            } else {
+                // Sel pertama tidak berada di garis yang belum terpenuhi, jadi sel kedua harus
+                for (int c = 0; c < context.candidates.length; c++) {
+                    if (context.candidates[c] > index1) {
+                        scanMove(context, result, index1, context.candidates[c]);
+                    }
                 }
             }
         }
         return result;
     }
 
+    private static void scanMove(ScanContext context, ScanResult result, int index1, int index2) {
+        MagicCube cube = context.cube;
+        int delta = cube.peekSwapDelta(index1, index2);
+        result.record(cube.getFitness() + delta);
+
+        if (delta >= result.bestDelta && !context.visited.contains(cube.peekSwapHash(index1, index2))) {
+            result.bestDelta = delta; // Memilih tetangga dengan nilai fungsi yang lebih tinggi
+            result.bestMove = index1 * MagicCube.CELL_COUNT + index2;
+        }
+    }
+
+    /**
+     * Read-only input of one step's scan, shared by all fork-join tasks. When
+     * focused, only swaps involving a cell on an unsatisfied line are scored;
+     * every other swap strictly lowers the fitness, so the chosen move is the
+     * same as in the full scan.
+     */
+    private static class ScanContext {
+        private final MagicCube cube;
+        private final IVisitedStore visited;
+        private final int[] candidates;
+        private final boolean[] isCandidate;
+
+        ScanContext(MagicCube cube, IVisitedStore visited, boolean focused) {
+            this.cube = cube;
+            this.visited = visited;
+            if (focused) {
+                int[] cells = new int[MagicCube.CELL_COUNT];
+                int count = cube.getCandidateCells(cells);
+                this.candidates = Arrays.copyOf(cells, count);
+                this.isCandidate = new boolean[MagicCube.CELL_COUNT];
+                for (int cell : candidates) {
+                    isCandidate[cell] = true;
+                }
+            } else {
+                this.candidates = null;
+                this.isCandidate = null;
+            }
+        }
+    }
+
+    /**
+     * Best move and candidate statistics of one scanned range.
+     */
+    private static class ScanResult {
+        private int bestMove = -1;
+        private int bestDelta = 0;
+        private int count;
+        private long sum;
+        private int min = Integer.MAX_VALUE;
+        private int max = Integer.MIN_VALUE;
+
+        private void record(int fitness) {
+            count++;
+            sum += fitness;
+            min = Math.min(min, fitness);
+            max = Math.max(max, fitness);
+        }
+
+        /**
+         * Folds a range scanned after this one into this result. Moves are
+         * encoded in scan order, so keeping the larger move on equal deltas
+         * matches the sequential scan's preference for the later pair.
+         */
+        private ScanResult merge(ScanResult later) {
+            if (later.bestMove >= 0 && (bestMove < 0 || later.bestDelta > bestDelta
+                    || (later.bestDelta == bestDelta && later.bestMove > bestMove))) {
+                bestMove = later.bestMove;
+                bestDelta = later.bestDelta;
+            }
+            count += later.count;
+            sum += later.sum;
+            min = Math.min(min, later.min);
+            max = Math.max(max, later.max);
+            return this;
+        }
+    }
+
+    /**
+     * Splits the first-cell range in halves until it is small enough to scan
+     * directly, then reduces the halves to the best move.
+     */
+    private static class ScanTask extends RecursiveTask<ScanResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final ScanContext context;
+        private final int from;
+        private final int to;
+
+        ScanTask(ScanContext context, int from, int to) {
+            this.context = context;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected ScanResult compute() {
+            if (to - from <= SCAN_GRAIN) {
+                return scanRange(context, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            ScanTask later = new ScanTask(context, mid, to);
+            later.fork();
+            ScanResult result = new ScanTask(context, from, mid).compute();
+            return result.merge(later.join());
+        }
+    }
+
     public int getMaxSideMoves() {
         return max_side_moves;
     }
 
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    public boolean isFocused() {
+        return focused;
+    }
+
+    /**
+     * Restricts each step's scan to swaps involving a cell on a line that does
+     * not yet sum to the magic number. The search follows the same path, but
+     * only the scored swaps are recorded in the graph data.
+     *
+     * @param focused whether to scan the focused neighbourhood
+     */
+    public void setFocused(boolean focused) {
+        this.focused = focused;
+    }
+
     @Override
     public GraphData getGraphData() {
         return graphData;
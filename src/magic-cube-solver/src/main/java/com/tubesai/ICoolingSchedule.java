@@ -0,0 +1,19 @@
+package com.tubesai;
+
+/**
+ * Decides how the temperature of {@link SimulatedAnnealing} changes after
+ * every proposal. Schedules may keep state (e.g. acceptance counts), which
+ * {@link #reset()} clears at the start of each run.
+ */
+public interface ICoolingSchedule {
+    /**
+     * @param temperature the current temperature
+     * @param accepted    whether the last proposal was accepted
+     * @param improved    whether the last proposal produced a new best cube
+     * @return the temperature for the next proposal
+     */
+    double nextTemperature(double temperature, boolean accepted, boolean improved);
+
+    default void reset() {
+    }
+}
@@ -0,0 +1,27 @@
+package com.tubesai;
+
+/**
+ * Combines two parent permutations of 1..125 into a child permutation. The
+ * parents and the child are stored flat inside larger buffers, such as the
+ * population buffer of {@link GeneticAlgorithm}, at the given offsets.
+ * Implementations reuse their own scratch arrays, so each thread needs its
+ * own instance.
+ */
+public interface ICrossover {
+    /**
+     * Writes the child of the two parents. For operators that copy a segment,
+     * the segment cut1..cut2 (inclusive) comes from the first parent; calling
+     * again with the parents swapped gives the second child.
+     *
+     * @param genes1      the buffer holding the first parent
+     * @param offset1     the offset of the first parent
+     * @param genes2      the buffer holding the second parent
+     * @param offset2     the offset of the second parent
+     * @param child       the buffer to write the child into
+     * @param childOffset the offset of the child
+     * @param cut1        the first cell of the segment
+     * @param cut2        the last cell of the segment, at least cut1
+     */
+    void crossover(int[] genes1, int offset1, int[] genes2, int offset2, int[] child, int childOffset, int cut1,
+            int cut2);
+}
@@ -0,0 +1,25 @@
+package com.tubesai;
+
+import java.util.SplittableRandom;
+
+/**
+ * Picks parents from a population by fitness. {@link #prepare(int[], int)}
+ * builds whatever the strategy needs once per generation, so each
+ * {@link #select(SplittableRandom)} call is cheap.
+ */
+public interface ISelection {
+    /**
+     * Prepares selection for a new generation. The fitness array must not
+     * change until the next call.
+     *
+     * @param fitness the fitness of every member
+     * @param size    the number of members, starting at index 0
+     */
+    void prepare(int[] fitness, int size);
+
+    /**
+     * @param rand the random source to draw from
+     * @return the index of the selected member
+     */
+    int select(SplittableRandom rand);
+}
@@ -0,0 +1,17 @@
+package com.tubesai;
+
+/**
+ * Remembers which cube states a local search has already visited, keyed by
+ * the state's Zobrist hash (see {@link MagicCube#getHash()}).
+ * 
+ * Implementations must allow {@link #contains(long)} to be called from
+ * several threads at once as long as nobody calls {@link #add(long)} at the
+ * same time, since neighbourhood scans may run in parallel.
+ */
+public interface IVisitedStore {
+    boolean contains(long hash);
+
+    void add(long hash);
+
+    void clear();
+}
@@ -0,0 +1,133 @@
+package com.tubesai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Island model of {@link GeneticAlgorithm}: the population is split into
+ * islands that evolve on their own threads. Every migration_interval
+ * generations each island sends copies of its fittest members to the next
+ * island in a ring, through lock-free queues, and takes in whatever its
+ * predecessor has sent. All islands stop as soon as one solves the cube.
+ *
+ * The graph data of the islands is merged generation by generation.
+ */
+public class IslandGeneticAlgorithm implements IAlgorithm {
+    private int islands;
+    private int population_size;
+    private int max_generations;
+    private double mutation_rate;
+    private int migration_interval;
+    private int migrants;
+    private GraphData graphData;
+
+    /**
+     * @param islands            the number of islands, each on its own thread;
+     *                           a single island runs without migration
+     * @param population_size    the total population, split evenly
+     * @param max_generations    the maximum number of generations per island
+     * @param mutation_rate      the mutation rate of every island
+     * @param migration_interval the number of generations between migrations
+     * @param migrants           the number of members each island sends per
+     *                           migration
+     */
+    public IslandGeneticAlgorithm(int islands, int population_size, int max_generations, double mutation_rate,
+            int migration_interval, int migrants) {
+        if (islands < 1 || population_size < 2 * islands) {
+            throw new IllegalArgumentException("Every island needs at least 2 members.");
+        }
+        this.islands = islands;
+        this.population_size = population_size;
+        this.max_generations = max_generations;
+        this.mutation_rate = mutation_rate;
+        this.migration_interval = migration_interval;
+        this.migrants = migrants;
+        this.graphData = new GraphData(false);
+    }
+
+    @Override
+    public MagicCube getSolvedCube(MagicCube cube) {
+        // Antrian masuk setiap pulau, pulau i mengirim ke pulau i + 1
+        List<ConcurrentLinkedQueue<int[]>> queues = new ArrayList<>();
+        for (int i = 0; i < islands; i++) {
+            queues.add(new ConcurrentLinkedQueue<>());
+        }
+
+        GeneticAlgorithm[] algorithms = new GeneticAlgorithm[islands];
+        List<Future<MagicCube>> futures = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(islands);
+        CompletionService<MagicCube> completion = new ExecutorCompletionService<>(executor);
+        for (int i = 0; i < islands; i++) {
+            int size = population_size / islands + (i < population_size % islands ? 1 : 0);
+            GeneticAlgorithm algorithm = new GeneticAlgorithm(size, max_generations, mutation_rate);
+            algorithm.setParallel(false); // setiap pulau sudah punya thread sendiri
+            if (islands > 1) {
+                // Satu pulau tanpa tetangga hanya akan mengirim duplikat ke dirinya sendiri
+                algorithm.setMigration(queues.get(i), queues.get((i + 1) % islands), migration_interval, migrants);
+            }
+            algorithms[i] = algorithm;
+
+            MagicCube initial = i == 0 ? new MagicCube(cube) : new MagicCube(MagicCube.SIZE);
+            futures.add(completion.submit(() -> algorithm.getSolvedCube(initial)));
+        }
+
+        // Ambil hasil sesuai urutan selesai, hentikan pulau lain jika cube terpecahkan
+        MagicCube bestCube = new MagicCube(cube);
+        try {
+            for (int i = 0; i < islands; i++) {
+                Future<MagicCube> future = completion.take();
+                if (future.isCancelled()) {
+                    continue;
+                }
+                MagicCube solved = future.get();
+                if (solved.getFitness() > bestCube.getFitness()) {
+                    bestCube = solved;
+                }
+                if (solved.getFitness() >= MagicCube.LINE_COUNT) {
+                    futures.forEach(f -> f.cancel(true));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Island failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        // Tunggu pulau yang dihentikan selesai sebelum graph data-nya dibaca
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        graphData = new GraphData(false);
+        for (GeneticAlgorithm algorithm : algorithms) {
+            graphData.merge(algorithm.getGraphData());
+        }
+
+        System.out.println("Number of islands: " + islands);
+        return bestCube;
+    }
+
+    public int getIslands() {
+        return islands;
+    }
+
+    public int getMigrationInterval() {
+        return migration_interval;
+    }
+
+    @Override
+    public GraphData getGraphData() {
+        return graphData;
+    }
+}
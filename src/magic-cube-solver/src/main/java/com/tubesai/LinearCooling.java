@@ -0,0 +1,17 @@
+package com.tubesai;
+
+/**
+ * Lowers the temperature by a fixed step after every proposal.
+ */
+public class LinearCooling implements ICoolingSchedule {
+    private final double step;
+
+    public LinearCooling(double step) {
+        this.step = step;
+    }
+
+    @Override
+    public double nextTemperature(double temperature, boolean accepted, boolean improved) {
+        return temperature - step;
+    }
+}
@@ -0,0 +1,53 @@
+package com.tubesai;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Visited-state store that keeps only the most recent states, evicting the
+ * oldest once the capacity is reached. Memory stays fixed however long the
+ * run is; a search may revisit a state once it has been evicted.
+ * 
+ * Each state is added once, when the search moves onto it, so insertion order
+ * is also the order of last use. Lookups therefore do not reorder entries,
+ * which keeps concurrent {@link #contains(long)} calls safe.
+ */
+public class LruVisitedStore implements IVisitedStore {
+    private final int capacity;
+    private final LinkedHashMap<Long, Boolean> entries;
+
+    /**
+     * @param capacity the maximum number of states remembered
+     */
+    public LruVisitedStore(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                return size() > LruVisitedStore.this.capacity;
+            }
+        };
+    }
+
+    @Override
+    public boolean contains(long hash) {
+        return entries.containsKey(hash);
+    }
+
+    @Override
+    public void add(long hash) {
+        entries.put(hash, true);
+    }
+
+    @Override
+    public void clear() {
+        entries.clear();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,18 @@
+package com.tubesai;
+
+/**
+ * Lundy-Mees schedule, T' = T / (1 + beta * T): cools fast while hot and
+ * slows down as the temperature drops.
+ */
+public class LundyMeesCooling implements ICoolingSchedule {
+    private final double beta;
+
+    public LundyMeesCooling(double beta) {
+        this.beta = beta;
+    }
+
+    @Override
+    public double nextTemperature(double temperature, boolean accepted, boolean improved) {
+        return temperature / (1 + beta * temperature);
+    }
+}
@@ -1,5 +1,6 @@
 package com.tubesai;
 
+import java.util.Arrays;
 import java.util.Random;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -9,11 +10,77 @@ import java.io.File;
 import java.io.IOException;
 
 public class MagicCube {
+    public static final int SIZE = 5;
+    public static final int CELL_COUNT = SIZE * SIZE * SIZE;
+    public static final int LINE_COUNT = 3 * SIZE * SIZE + 2 + 2 * SIZE;
+    public static final int MAGIC_NUMBER = 315;
+
+    // Indeks garis yang melewati setiap sel, dan indeks sel penyusun setiap garis
+    static final int[][] CELL_LINES = new int[CELL_COUNT][];
+    static final int[][] LINE_CELLS = new int[LINE_COUNT][SIZE];
+    private static final boolean[] LINE_HAS_CELL = new boolean[LINE_COUNT * CELL_COUNT];
+    // Bitset 125 bit (dua long) berisi sel-sel penyusun setiap garis
+    private static final long[] LINE_CELL_MASK = new long[2 * LINE_COUNT];
+
+    // Kunci Zobrist untuk setiap pasangan (sel, nilai), dengan seed tetap
+    private static final int ZOBRIST_VALUES = CELL_COUNT + 1;
+    private static final long[] ZOBRIST = new long[CELL_COUNT * ZOBRIST_VALUES];
+
+    /*
+     * Lines are indexed as rows, columns, towers, the two space diagonals and
+     * finally the two plane diagonals of each layer, matching evaluateObjFunc2.
+     * Cells are indexed as x * 25 + y * 5 + z.
+     */
+    static {
+        int n = SIZE * SIZE;
+        int[] lineFill = new int[LINE_COUNT];
+        int[] lines = new int[7];
+
+        for (int x = 0; x < SIZE; x++) {
+            for (int y = 0; y < SIZE; y++) {
+                for (int z = 0; z < SIZE; z++) {
+                    int count = 0;
+                    lines[count++] = x * SIZE + y; // baris
+                    lines[count++] = n + x * SIZE + z; // kolom
+                    lines[count++] = 2 * n + y * SIZE + z; // tiang
+                    if (x == y && y == z)
+                        lines[count++] = 3 * n;
+                    if (x == y && z == SIZE - 1 - x)
+                        lines[count++] = 3 * n + 1;
+                    if (y == z)
+                        lines[count++] = 3 * n + 2 + x;
+                    if (z == SIZE - 1 - y)
+                        lines[count++] = 3 * n + 2 + SIZE + x;
+
+                    int cell = indexOf(x, y, z);
+                    CELL_LINES[cell] = Arrays.copyOf(lines, count);
+                    for (int l = 0; l < count; l++) {
+                        LINE_CELLS[lines[l]][lineFill[lines[l]]++] = cell;
+                        LINE_HAS_CELL[lines[l] * CELL_COUNT + cell] = true;
+                        LINE_CELL_MASK[2 * lines[l] + (cell >>> 6)] |= 1L << cell;
+                    }
+                }
+            }
+        }
+
+        Random rand = new Random(0x5EEDCAFEL);
+        for (int i = 0; i < ZOBRIST.length; i++) {
+            ZOBRIST[i] = rand.nextLong();
+        }
+    }
+
     private int size;
-    private int[][][] cube;
+    private int[] cells;
     private int magic_number;
     private int fitness; // int or float, decide later
-    public String sequence = "";
+    private int[] lineSums; // sum of every line counted by evaluateObjFunc2
+    private long[] unsatisfiedLines; // bitset of lines whose sum is not the magic number
+    private long hash; // Zobrist hash of the cells, used as the state identity
+
+    // Jurnal langkah yang dapat dibatalkan: (index1, index2, fitness lama) dan hash lama
+    private int[] journalMoves;
+    private long[] journalHashes;
+    private int journalSize;
 
     /**
      * Constructs a MagicCube object with the specified size.
@@ -21,36 +88,57 @@ public class MagicCube {
      * evaluates the fitness using the objective function, and initializes the cube.
      *
      * @param size the size of the magic cube
+     * @throws IllegalArgumentException if size is not 5
      */
     public MagicCube(int size) {
+        if (size != SIZE) {
+            throw new IllegalArgumentException("Only 5x5x5 cubes are supported.");
+        }
         this.size = size;
-        this.cube = new int[size][size][size];
-        this.magic_number = 315;
+        this.cells = new int[CELL_COUNT];
+        this.magic_number = MAGIC_NUMBER;
         initializeCube();
 
-        for (int i = 0; i < 5; i++) {
-            for (int j = 0; j < 5; j++) {
-                for (int k = 0; k < 5; k++) {
-                    sequence += "-" + cube[i][j][k];
-                }
-            }
+        initializeHash();
+        initializeLineSums();
+        this.fitness = evaluateObjFunc2();
+    }
+
+    /**
+     * Constructs a MagicCube object from a flat array of 125 elements, indexed
+     * as x * 25 + y * 5 + z. The array is copied.
+     *
+     * @param cells the elements of the cube
+     * @throws IllegalArgumentException if the array does not hold 125 elements
+     */
+    public MagicCube(int[] cells) {
+        if (cells.length != CELL_COUNT) {
+            throw new IllegalArgumentException("A cube array must hold exactly " + CELL_COUNT + " elements.");
         }
+        this.size = SIZE;
+        this.cells = cells.clone();
+        this.magic_number = MAGIC_NUMBER;
 
+        initializeHash();
+        initializeLineSums();
         this.fitness = evaluateObjFunc2();
     }
 
-    private void updateSequence(){
-        sequence = "";
-        
-        for (int i = 0; i < 5; i++) {
-            for (int j = 0; j < 5; j++) {
-                for (int k = 0; k < 5; k++) {
-                    sequence += "-" + cube[i][j][k];
-                }
-            }
+    /**
+     * Recomputes the Zobrist hash from scratch. Must be called whenever the
+     * cells are replaced wholesale; single-cell changes update it in O(1).
+     */
+    private void initializeHash() {
+        hash = 0;
+        for (int i = 0; i < CELL_COUNT; i++) {
+            hash ^= zobrist(i, cells[i]);
         }
     }
 
+    private static long zobrist(int cell, int value) {
+        return ZOBRIST[cell * ZOBRIST_VALUES + Math.floorMod(value, ZOBRIST_VALUES)];
+    }
+
     /**
      * Constructs a MagicCube object by loading its state from a JSON file.
      *
@@ -64,12 +152,25 @@ public class MagicCube {
             ObjectMapper mapper = new ObjectMapper();
             JsonNode rootNode = mapper.readTree(new File(jsonFilePath));
 
-            this.cube = mapper.convertValue(rootNode.get("cube"), int[][][].class);
-            this.size = this.cube.length;
+            int[][][] cube = mapper.convertValue(rootNode.get("cube"), int[][][].class);
+            if (cube.length != SIZE || cube[0].length != SIZE || cube[0][0].length != SIZE) {
+                throw new RuntimeException("Error reading JSON file: only 5x5x5 cubes are supported");
+            }
+            this.size = SIZE;
+            this.cells = new int[CELL_COUNT];
+            for (int i = 0; i < SIZE; i++) {
+                for (int j = 0; j < SIZE; j++) {
+                    for (int k = 0; k < SIZE; k++) {
+                        this.cells[indexOf(i, j, k)] = cube[i][j][k];
+                    }
+                }
+            }
 
-            this.magic_number = rootNode.has("magicNumber") ? rootNode.get("magicNumber").asInt() : 315;
+            this.magic_number = rootNode.has("magicNumber") ? rootNode.get("magicNumber").asInt() : MAGIC_NUMBER;
 
-            this.fitness = evaluateObjFunc();
+            initializeHash();
+            initializeLineSums();
+            this.fitness = evaluateObjFunc2();
         } catch (IOException e) {
             throw new RuntimeException("Error reading JSON file: " + e.getMessage());
         }
@@ -82,110 +183,39 @@ public class MagicCube {
      * @param cube the MagicCube object to be copied
      */
     public MagicCube(MagicCube cube) {
-
         this.size = cube.getSize();
-        this.cube = new int[size][size][size];
-
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                for (int k = 0; k < size; k++) {
-                    this.cube[i][j][k] = cube.getCubeElement(new Position(i, j, k));
-                }
-            }
-        }
-
+        this.cells = cube.cells.clone();
         this.magic_number = cube.getMagicNumber();
         this.fitness = cube.getFitness();
-        this.sequence = cube.sequence;
+        this.lineSums = cube.lineSums.clone();
+        this.unsatisfiedLines = cube.unsatisfiedLines.clone();
+        this.hash = cube.hash;
     }
 
     /**
      * Initializes the 5x5x5 magic cube with sequential values from 1 to 125 and
      * then shuffles the cube.
      * 
-     * The cube is first initialized with sequential values in a 3D array.
-     * These values are then copied into a 1D array to facilitate shuffling using
+     * The cells are filled with sequential values and shuffled in place using
      * the Fisher-Yates algorithm.
-     * After shuffling, the values are copied back into the 3D array.
      * 
      * The shuffling ensures that the cube is randomized each time it is
      * initialized.
      */
     private void initializeCube() {
-        // Initialize cube with random or sequential values
-
-        // make 5x5x5 cube
-        this.cube = new int[][][] {
-                {
-                        { 1, 2, 3, 4, 5 },
-                        { 6, 7, 8, 9, 10 },
-                        { 11, 12, 13, 14, 15 },
-                        { 16, 17, 18, 19, 20 },
-                        { 21, 22, 23, 24, 25 }
-                },
-                {
-                        { 26, 27, 28, 29, 30 },
-                        { 31, 32, 33, 34, 35 },
-                        { 36, 37, 38, 39, 40 },
-                        { 41, 42, 43, 44, 45 },
-                        { 46, 47, 48, 49, 50 }
-                },
-                {
-                        { 51, 52, 53, 54, 55 },
-                        { 56, 57, 58, 59, 60 },
-                        { 61, 62, 63, 64, 65 },
-                        { 66, 67, 68, 69, 70 },
-                        { 71, 72, 73, 74, 75 }
-                },
-                {
-                        { 76, 77, 78, 79, 80 },
-                        { 81, 82, 83, 84, 85 },
-                        { 86, 87, 88, 89, 90 },
-                        { 91, 92, 93, 94, 95 },
-                        { 96, 97, 98, 99, 100 }
-                },
-                {
-                        { 101, 102, 103, 104, 105 },
-                        { 106, 107, 108, 109, 110 },
-                        { 111, 112, 113, 114, 115 },
-                        { 116, 117, 118, 119, 120 },
-                        { 121, 122, 123, 124, 125 }
-                }
-        };
-
-        // Shuffle the cube
-        Random rand = new Random();
-
-        // Ubah menjadi array 1D untuk mempermudah pengacakan
-        int[] tempArray = new int[125];
-        int index = 0;
-
-        // Salin elemen-elemen dari cube 3D ke array 1D
-        for (int i = 0; i < 5; i++) {
-            for (int j = 0; j < 5; j++) {
-                for (int k = 0; k < 5; k++) {
-                    tempArray[index++] = this.cube[i][j][k];
-                }
-            }
+        // Initialize cube with sequential values
+        for (int i = 0; i < CELL_COUNT; i++) {
+            cells[i] = i + 1;
         }
 
-        // Fisher-Yates shuffle untuk mengacak array 1D
-        for (int i = tempArray.length - 1; i > 0; i--) {
+        // Fisher-Yates shuffle untuk mengacak array
+        Random rand = new Random();
+        for (int i = cells.length - 1; i > 0; i--) {
             int j = rand.nextInt(i + 1);
-            // Tukar elemen tempArray[i] dengan tempArray[j]
-            int temp = tempArray[i];
-            tempArray[i] = tempArray[j];
-            tempArray[j] = temp;
-        }
-
-        // Salin elemen-elemen dari array 1D yang sudah diacak kembali ke cube 3D
-        index = 0;
-        for (int i = 0; i < 5; i++) {
-            for (int j = 0; j < 5; j++) {
-                for (int k = 0; k < 5; k++) {
-                    this.cube[i][j][k] = tempArray[index++];
-                }
-            }
+            // Tukar elemen cells[i] dengan cells[j]
+            int temp = cells[i];
+            cells[i] = cells[j];
+            cells[j] = temp;
         }
     }
 
@@ -201,58 +231,127 @@ public class MagicCube {
     public int evaluateObjFunc() {
         int total = 0;
 
-        // Periksa setiap baris, kolom, dan tiang pada setiap lapisan
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                total += Math.pow(sumRow(i, j) - magic_number, 2);
-                total += Math.pow(sumColumn(i, j) - magic_number, 2);
-                total += Math.pow(sumTower(i, j) - magic_number, 2);
-            }
+        // Periksa setiap baris, kolom, tiang, diagonal ruang, dan diagonal bidang
+        for (int line = 0; line < LINE_COUNT; line++) {
+            int diff = sumLine(line) - magic_number;
+            total += diff * diff;
         }
 
-        // Periksa semua diagonal ruang
-        total += Math.pow(sumSpaceDiagonal1() - magic_number, 2);
-        total += Math.pow(sumSpaceDiagonal2(), 2);
+        return -total;
+    }
 
-        // Periksa semua diagonal bidang (9 bidang)
-        for (int i = 0; i < size; i++) {
-            total += Math.pow(sumPlaneDiagonal1(i) - magic_number, 2);
-            total += Math.pow(sumPlaneDiagonal2(i) - magic_number, 2);
+    public int evaluateObjFunc2() {
+        int totalValid = 0;
+
+        // Periksa setiap baris, kolom, tiang, diagonal ruang, dan diagonal bidang
+        for (int line = 0; line < LINE_COUNT; line++) {
+            if (sumLine(line) == magic_number)
+                totalValid++;
         }
 
-        return -total;
+        return totalValid;
     }
 
-    public int evaluateObjFunc2() {
+    /**
+     * Counts the lines summing to the magic number of a cube stored flat in a
+     * larger buffer, as evaluateObjFunc2 does, without building a MagicCube.
+     * Used by algorithms that keep whole populations in one array.
+     *
+     * @param genes  the buffer holding the cube
+     * @param offset the index of the cube's first cell in the buffer
+     * @return the number of satisfied lines
+     */
+    public static int evaluate(int[] genes, int offset) {
         int totalValid = 0;
+        for (int[] line : LINE_CELLS) {
+            int sum = genes[offset + line[0]] + genes[offset + line[1]] + genes[offset + line[2]]
+                    + genes[offset + line[3]] + genes[offset + line[4]];
+            if (sum == MAGIC_NUMBER)
+                totalValid++;
+        }
+        return totalValid;
+    }
 
-        // Periksa setiap baris, kolom, dan tiang pada setiap lapisan
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                if (sumRow(i, j) == magic_number)
-                    totalValid++;
-                if (sumColumn(i, j) == magic_number)
-                    totalValid++;
-                if (sumTower(i, j) == magic_number)
-                    totalValid++;
+    /**
+     * Recomputes the sum of every line checked by evaluateObjFunc2 from the
+     * current cells. Must be called whenever the cells are replaced wholesale;
+     * single-cell changes keep the sums up to date on their own.
+     */
+    private void initializeLineSums() {
+        if (this.lineSums == null) {
+            this.lineSums = new int[LINE_COUNT];
+            this.unsatisfiedLines = new long[2];
+        } else {
+            this.unsatisfiedLines[0] = 0;
+            this.unsatisfiedLines[1] = 0;
+        }
+        for (int line = 0; line < LINE_COUNT; line++) {
+            lineSums[line] = sumLine(line);
+            if (lineSums[line] != magic_number) {
+                unsatisfiedLines[line >>> 6] |= 1L << line;
             }
         }
+    }
 
-        // Periksa semua diagonal ruang
-        if (sumSpaceDiagonal1() == magic_number)
-            totalValid++;
-        if (sumSpaceDiagonal2() == magic_number)
-            totalValid++;
+    /**
+     * Adds delta to the sum of every line passing through the given cell.
+     *
+     * @return the change in the number of lines that sum to the magic number
+     */
+    private int addToLines(int cell, int delta) {
+        int change = 0;
+        for (int line : CELL_LINES[cell]) {
+            int before = lineSums[line] == magic_number ? 1 : 0;
+            lineSums[line] += delta;
+            int after = lineSums[line] == magic_number ? 1 : 0;
+            if (after != before) {
+                unsatisfiedLines[line >>> 6] ^= 1L << line;
+                change += after - before;
+            }
+        }
+        return change;
+    }
 
-        // Periksa semua diagonal bidang (9 bidang)
-        for (int i = 0; i < size; i++) {
-            if (sumPlaneDiagonal1(i) == magic_number)
-                totalValid++;
-            if (sumPlaneDiagonal2(i) == magic_number)
-                totalValid++;
+    /**
+     * Checks whether the given line currently sums to the magic number.
+     *
+     * @param line the line index, from 0 to LINE_COUNT - 1: rows, columns,
+     *             towers, the two space diagonals, then the plane diagonals
+     * @return true if the line sums to the magic number
+     */
+    public boolean isLineSatisfied(int line) {
+        return (unsatisfiedLines[line >>> 6] & (1L << line)) == 0;
+    }
+
+    /**
+     * Writes the indices of every cell lying on at least one line that does not
+     * sum to the magic number into out, in increasing order. Any swap that
+     * touches none of these cells can only break satisfied lines, so local
+     * searches that never accept a worse state can restrict their neighbourhood
+     * to swaps involving at least one of them.
+     *
+     * @param out an array of at least 125 elements that receives the indices
+     * @return the number of indices written
+     */
+    public int getCandidateCells(int[] out) {
+        long low = 0;
+        long high = 0;
+        for (int word = 0; word < 2; word++) {
+            for (long bits = unsatisfiedLines[word]; bits != 0; bits &= bits - 1) {
+                int line = word * 64 + Long.numberOfTrailingZeros(bits);
+                low |= LINE_CELL_MASK[2 * line];
+                high |= LINE_CELL_MASK[2 * line + 1];
+            }
         }
 
-        return totalValid;
+        int count = 0;
+        for (long bits = low; bits != 0; bits &= bits - 1) {
+            out[count++] = Long.numberOfTrailingZeros(bits);
+        }
+        for (long bits = high; bits != 0; bits &= bits - 1) {
+            out[count++] = 64 + Long.numberOfTrailingZeros(bits);
+        }
+        return count;
     }
 
     /**
@@ -263,14 +362,166 @@ public class MagicCube {
      * @param el2 the position of the second element to be swapped
      */
     public void moveToNeighbour(Position el1, Position el2) {
+        moveToNeighbour(indexOf(el1), indexOf(el2));
+    }
+
+    /**
+     * Swaps the elements at the specified cell indices and automatically updates
+     * the fitness value.
+     * 
+     * Only the lines passing through the two cells can change, so the fitness is
+     * updated from those lines instead of rescanning the whole cube. A line that
+     * holds both cells gets +d and then -d, which cancels out exactly.
+     *
+     * @param index1 the index of the first element to be swapped
+     * @param index2 the index of the second element to be swapped
+     */
+    public void moveToNeighbour(int index1, int index2) {
         // Swap two number/element in the cube
-        int temp = cube[el1.getX()][el1.getY()][el1.getZ()];
-        cube[el1.getX()][el1.getY()][el1.getZ()] = cube[el2.getX()][el2.getY()][el2.getZ()];
-        cube[el2.getX()][el2.getY()][el2.getZ()] = temp;
+        int value1 = cells[index1];
+        int value2 = cells[index2];
+        cells[index1] = value2;
+        cells[index2] = value1;
 
         // Update fitness after swapping
-        this.fitness = evaluateObjFunc2();
-        updateSequence();
+        this.fitness += addToLines(index1, value2 - value1) + addToLines(index2, value1 - value2);
+        this.hash ^= zobrist(index1, value1) ^ zobrist(index1, value2)
+                ^ zobrist(index2, value2) ^ zobrist(index2, value1);
+    }
+
+    /**
+     * Computes the fitness change that swapping the elements at the given
+     * positions would produce, without changing or copying the cube.
+     *
+     * @param el1 the position of the first element
+     * @param el2 the position of the second element
+     * @return the fitness after the swap minus the current fitness
+     */
+    public int peekSwapDelta(Position el1, Position el2) {
+        return peekSwapDelta(indexOf(el1), indexOf(el2));
+    }
+
+    /**
+     * Computes the fitness change that swapping the elements at the given cell
+     * indices would produce, without changing or copying the cube. Lines that
+     * hold both cells keep their sum and are skipped. Commit the chosen swap
+     * with {@link #moveToNeighbour(int, int)}.
+     *
+     * @param index1 the index of the first element
+     * @param index2 the index of the second element
+     * @return the fitness after the swap minus the current fitness
+     */
+    public int peekSwapDelta(int index1, int index2) {
+        int diff = cells[index2] - cells[index1];
+        if (diff == 0) {
+            return 0;
+        }
+
+        int delta = 0;
+        for (int line : CELL_LINES[index1]) {
+            if (!LINE_HAS_CELL[line * CELL_COUNT + index2]) {
+                delta += peekLineChange(line, diff);
+            }
+        }
+        for (int line : CELL_LINES[index2]) {
+            if (!LINE_HAS_CELL[line * CELL_COUNT + index1]) {
+                delta += peekLineChange(line, -diff);
+            }
+        }
+        return delta;
+    }
+
+    /**
+     * Computes the Zobrist hash the cube would have after swapping the elements
+     * at the given cell indices, without changing the cube.
+     *
+     * @param index1 the index of the first element
+     * @param index2 the index of the second element
+     * @return the hash of the neighbouring state
+     */
+    public long peekSwapHash(int index1, int index2) {
+        int value1 = cells[index1];
+        int value2 = cells[index2];
+        return hash ^ zobrist(index1, value1) ^ zobrist(index1, value2)
+                ^ zobrist(index2, value2) ^ zobrist(index2, value1);
+    }
+
+    private int peekLineChange(int line, int delta) {
+        int sum = lineSums[line];
+        return (sum + delta == magic_number ? 1 : 0) - (sum == magic_number ? 1 : 0);
+    }
+
+    /**
+     * Swaps the elements at the given cell indices in place and records the
+     * move in the journal so it can be rolled back with {@link #undoMove()}.
+     *
+     * @param index1 the index of the first element to be swapped
+     * @param index2 the index of the second element to be swapped
+     */
+    public void applyMove(int index1, int index2) {
+        if (journalMoves == null) {
+            journalMoves = new int[3 * 16];
+            journalHashes = new long[16];
+        } else if (journalSize == journalHashes.length) {
+            journalMoves = Arrays.copyOf(journalMoves, journalMoves.length * 2);
+            journalHashes = Arrays.copyOf(journalHashes, journalHashes.length * 2);
+        }
+
+        journalMoves[3 * journalSize] = index1;
+        journalMoves[3 * journalSize + 1] = index2;
+        journalMoves[3 * journalSize + 2] = fitness;
+        journalHashes[journalSize] = hash;
+        journalSize++;
+
+        moveToNeighbour(index1, index2);
+    }
+
+    /**
+     * Rolls back the most recent journaled move, restoring the cells, line sums,
+     * fitness and hash exactly as they were before it.
+     *
+     * @throws IllegalStateException if the journal is empty
+     */
+    public void undoMove() {
+        if (journalSize == 0) {
+            throw new IllegalStateException("No move to undo.");
+        }
+        journalSize--;
+
+        int index1 = journalMoves[3 * journalSize];
+        int index2 = journalMoves[3 * journalSize + 1];
+        int value1 = cells[index1];
+        int value2 = cells[index2];
+        cells[index1] = value2;
+        cells[index2] = value1;
+        addToLines(index1, value2 - value1);
+        addToLines(index2, value1 - value2);
+
+        this.fitness = journalMoves[3 * journalSize + 2];
+        this.hash = journalHashes[journalSize];
+    }
+
+    /**
+     * Rolls back journaled moves until only the given number remain. Pass the
+     * value of {@link #getJournalSize()} taken earlier to return to that state.
+     *
+     * @param size the journal size to roll back to
+     */
+    public void undoTo(int size) {
+        while (journalSize > size) {
+            undoMove();
+        }
+    }
+
+    /**
+     * Keeps the current state and forgets every journaled move.
+     */
+    public void clearJournal() {
+        journalSize = 0;
+    }
+
+    public int getJournalSize() {
+        return journalSize;
     }
 
     /**
@@ -285,17 +536,7 @@ public class MagicCube {
         // Change the cube to a random state
         Random rand = new Random();
         for (int i = 0; i < 125; i++) {
-            int x1 = rand.nextInt(5);
-            int y1 = rand.nextInt(5);
-            int z1 = rand.nextInt(5);
-            Position el1 = new Position(x1, y1, z1);
-
-            int x2 = rand.nextInt(5);
-            int y2 = rand.nextInt(5);
-            int z2 = rand.nextInt(5);
-            Position el2 = new Position(x2, y2, z2);
-
-            moveToNeighbour(el1, el2);
+            moveToNeighbour(rand.nextInt(CELL_COUNT), rand.nextInt(CELL_COUNT));
         }
     }
 
@@ -326,7 +567,7 @@ public class MagicCube {
             System.out.println("Layer " + (i + 1) + ":");
             for (int j = 0; j < size; j++) {
                 for (int k = 0; k < size; k++) {
-                    System.out.print(this.cube[i][j][k] + "\t");
+                    System.out.print(this.cells[indexOf(i, j, k)] + "\t");
                 }
                 System.out.println();
             }
@@ -359,7 +600,7 @@ public class MagicCube {
         // Menyimpan state cube ke file JSON menggunakan Jackson
         try {
             ObjectMapper objectMapper = new ObjectMapper();
-            objectMapper.writeValue(new File(jsonFilePath), this.cube);
+            objectMapper.writeValue(new File(jsonFilePath), getCube());
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -372,21 +613,63 @@ public class MagicCube {
      * @return the element at the specified position in the cube
      */
     public int getCubeElement(Position pos) {
-        return cube[pos.getX()][pos.getY()][pos.getZ()];
+        return cells[indexOf(pos)];
+    }
+
+    public int getCubeElement(int index) {
+        return cells[index];
     }
 
+    /**
+     * Sets the element at the specified position and updates the fitness from
+     * the lines passing through that cell.
+     *
+     * @param pos the position in the cube to be set
+     * @param el  the new element
+     */
     public void setCubeElement(Position pos, int el) {
-        this.cube[pos.getX()][pos.getY()][pos.getZ()] = el;
+        setCubeElement(indexOf(pos), el);
+    }
+
+    public void setCubeElement(int index, int el) {
+        int old = this.cells[index];
+        this.cells[index] = el;
+        this.fitness += addToLines(index, el - old);
+        this.hash ^= zobrist(index, old) ^ zobrist(index, el);
     }
 
     public int getSize() {
         return size;
     }
 
+    /**
+     * Builds a 3D view of the cube, indexed as [x][y][z]. The returned array is
+     * a copy; changing it does not change the cube.
+     *
+     * @return the cube elements as a 3D array
+     */
     public int[][][] getCube() {
+        int[][][] cube = new int[size][size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                for (int k = 0; k < size; k++) {
+                    cube[i][j][k] = cells[indexOf(i, j, k)];
+                }
+            }
+        }
         return cube;
     }
 
+    /**
+     * Returns a copy of the cube elements as a flat array, indexed as
+     * x * 25 + y * 5 + z.
+     *
+     * @return the cube elements as a 1D array
+     */
+    public int[] toArray() {
+        return cells.clone();
+    }
+
     public int getMagicNumber() {
         return magic_number;
     }
@@ -395,6 +678,17 @@ public class MagicCube {
         return fitness;
     }
 
+    /**
+     * Returns the 64-bit Zobrist hash of the current cells. Equal cubes always
+     * have equal hashes; use {@link #equals(Object)} when a collision must be
+     * ruled out.
+     *
+     * @return the hash identifying the cube state
+     */
+    public long getHash() {
+        return hash;
+    }
+
     /**
      * Gets the energy (fitness) value of the current cube state.
      * This is an alias for getFitness() to maintain consistency with the
@@ -415,80 +709,78 @@ public class MagicCube {
         this.size = other.getSize();
         this.magic_number = other.getMagicNumber();
         this.fitness = other.getFitness();
-
-        // Deep copy the cube array
-        this.cube = new int[size][size][size];
-        int[][][] otherCube = other.getCube();
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                for (int k = 0; k < size; k++) {
-                    this.cube[i][j][k] = otherCube[i][j][k];
-                }
-            }
-        }
+        System.arraycopy(other.cells, 0, this.cells, 0, CELL_COUNT);
+        System.arraycopy(other.lineSums, 0, this.lineSums, 0, LINE_COUNT);
+        this.unsatisfiedLines[0] = other.unsatisfiedLines[0];
+        this.unsatisfiedLines[1] = other.unsatisfiedLines[1];
+        this.hash = other.hash;
+        this.journalSize = 0;
     }
 
-    // Sum semua elemen di baris j pada layer i
-    private int sumRow(int layer, int row) {
-        int sum = 0;
-        for (int k = 0; k < size; k++) {
-            sum += cube[layer][row][k];
-        }
-        return sum;
+    /**
+     * Replaces the cells with a cube stored flat in a larger buffer, such as a
+     * GA population, reusing this cube's arrays. The magic number is kept and
+     * the journal is cleared.
+     *
+     * @param genes  the buffer holding the cube
+     * @param offset the index of the cube's first cell in the buffer
+     */
+    public void load(int[] genes, int offset) {
+        System.arraycopy(genes, offset, this.cells, 0, CELL_COUNT);
+        initializeHash();
+        initializeLineSums();
+        this.fitness = LINE_COUNT - Long.bitCount(unsatisfiedLines[0]) - Long.bitCount(unsatisfiedLines[1]);
+        this.journalSize = 0;
     }
 
-    // Sum semua elemen di kolom j pada layer i
-    private int sumColumn(int layer, int column) {
-        int sum = 0;
-        for (int k = 0; k < size; k++) {
-            sum += cube[layer][k][column];
-        }
-        return sum;
+    /**
+     * Writes the cells into a larger buffer, the reverse of
+     * {@link #load(int[], int)}.
+     *
+     * @param genes  the buffer to write into
+     * @param offset the index of the cube's first cell in the buffer
+     */
+    public void copyTo(int[] genes, int offset) {
+        System.arraycopy(this.cells, 0, genes, offset, CELL_COUNT);
     }
 
-    // Sum semua elemen di tiang j pada kolom i
-    private int sumTower(int row, int column) {
-        int sum = 0;
-        for (int k = 0; k < size; k++) {
-            sum += cube[k][row][column];
+    /**
+     * Compares the cells of two cubes, rejecting early on the Zobrist hash.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
         }
-        return sum;
+        if (!(obj instanceof MagicCube)) {
+            return false;
+        }
+        MagicCube other = (MagicCube) obj;
+        return hash == other.hash && Arrays.equals(cells, other.cells);
     }
 
-    // Sum diagonal ruang dari (0,0,0) ke (n-1,n-1,n-1)
-    private int sumSpaceDiagonal1() {
-        int sum = 0;
-        for (int i = 0; i < size; i++) {
-            sum += cube[i][i][i];
-        }
-        return sum;
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hash);
     }
 
-    // Sum diagonal ruang dari (0,0,n-1) ke (n-1,n-1,0)
-    private int sumSpaceDiagonal2() {
-        int sum = 0;
-        for (int i = 0; i < size; i++) {
-            sum += cube[i][i][size - 1 - i];
-        }
-        return sum;
+    /**
+     * Converts 3D coordinates into the flat cell index used by this class.
+     */
+    public static int indexOf(int x, int y, int z) {
+        return (x * SIZE + y) * SIZE + z;
     }
 
-    // Sum diagonal pada bidang XY di layer tertentu
-    private int sumPlaneDiagonal1(int layer) {
-        int sum = 0;
-        for (int i = 0; i < size; i++) {
-            sum += cube[layer][i][i];
-        }
-        return sum;
+    public static int indexOf(Position pos) {
+        return indexOf(pos.getX(), pos.getY(), pos.getZ());
     }
 
-    // Sum diagonal lainnya pada bidang XY di layer tertentu
-    private int sumPlaneDiagonal2(int layer) {
+    // Sum semua elemen pada satu garis
+    private int sumLine(int line) {
         int sum = 0;
-        for (int i = 0; i < size; i++) {
-            sum += cube[layer][i][size - 1 - i];
+        for (int cell : LINE_CELLS[line]) {
+            sum += cells[cell];
         }
         return sum;
     }
-
 }
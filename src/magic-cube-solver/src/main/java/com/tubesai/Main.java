@@ -15,11 +15,23 @@ public class Main {
         IAlgorithm solver;
         int algoChoice = menu.chooseAlgoMenu();
         if (algoChoice == 1) {
-            solver = new HillClimbingSideMove(500);
+            HillClimbingSideMove hillClimbing = new HillClimbingSideMove(500, true);
+            hillClimbing.setFocused(true);
+            solver = hillClimbing;
         } else if (algoChoice == 2) {
-            solver = new SimulatedAnnealing(10, 0.000001);
+            solver = new SimulatedAnnealing(1, 0.05, new GeometricCooling(0.0000002));
         } else if (algoChoice == 3) {
             solver = new GeneticAlgorithm(1000, 1000, 0.2);
+        } else if (algoChoice == 4) {
+            solver = new RandomRestartHillClimbing(64, 100);
+        } else if (algoChoice == 5) {
+            solver = new TabuSearch(10000, 15);
+        } else if (algoChoice == 6) {
+            solver = new ParallelTempering(8, 0.15, 0.6, 5000, 2000);
+        } else if (algoChoice == 7) {
+            solver = new MultiStartSimulatedAnnealing(8, 1, 0.05, 0.0000002, 2000000);
+        } else if (algoChoice == 8) {
+            solver = new IslandGeneticAlgorithm(4, 1000, 1000, 0.2, 10, 2);
         } else {
             System.out.println("Error in algorithm choice.");
             return;
@@ -31,7 +43,7 @@ public class Main {
         GraphData graphData = solver.getGraphData();
         System.out.println("Fitness before solving: " + cube.getFitness());
         System.out.println("Fitness after solving: " + solvedCube.getFitness());
-        System.out.println("iterasi: " + graphData.getAllData().size());
+        System.out.println("iterasi: " + graphData.getTotalIterations());
         System.out.println("Waktu eksekusi: " + (endTime - startTime) + " ms");
         graphData.setExecutionTime(endTime - startTime);
         System.out.println();
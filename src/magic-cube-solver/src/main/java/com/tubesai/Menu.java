@@ -44,6 +44,11 @@ public class Menu {
         System.out.println("1. Hill Climbing Side Move");
         System.out.println("2. Simulated Annealing");
         System.out.println("3. Genetic Algorithm");
+        System.out.println("4. Random Restart Hill Climbing");
+        System.out.println("5. Tabu Search");
+        System.out.println("6. Parallel Tempering");
+        System.out.println("7. Multi-start Simulated Annealing");
+        System.out.println("8. Island Genetic Algorithm");
         System.out.print("Choose the algorithm: ");
 
         try {
@@ -55,6 +60,11 @@ public class Menu {
                 case 1:
                 case 2:
                 case 3:
+                case 4:
+                case 5:
+                case 6:
+                case 7:
+                case 8:
                     return choice;
                 default:
                     System.out.println("Invalid choice. Please choose a valid algorithm.\n");
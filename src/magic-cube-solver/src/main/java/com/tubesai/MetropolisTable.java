@@ -0,0 +1,72 @@
+package com.tubesai;
+
+/**
+ * Lookup table for the Metropolis acceptance probability exp(delta / T) of a
+ * worsening move. Fitness deltas of a swap are small integers (a cell lies on
+ * at most 7 lines, so a swap changes at most 14), and the temperature range
+ * is split into logarithmically spaced buckets, so a lookup replaces the
+ * {@code Math.exp} call. The relative temperature error of a bucket is below
+ * 1 / 4096 of the logarithmic range.
+ * 
+ * The bucket of the last lookup is cached, and annealing temperatures change
+ * slowly, so most lookups skip the logarithm too. Instances are therefore not
+ * thread-safe; give each chain its own table.
+ */
+public class MetropolisTable {
+    private static final int BUCKETS = 4096;
+    private static final int MAX_DROP = 14;
+
+    private final double logMin;
+    private final double bucketWidth;
+    private final double[] probabilities; // [bucket * (MAX_DROP + 1) + drop]
+
+    // Bucket yang terakhir dipakai beserta batas suhunya
+    private int cachedOffset = -1;
+    private double cachedLow;
+    private double cachedHigh;
+
+    /**
+     * @param min_temperature the lowest temperature served from the table
+     * @param max_temperature the highest temperature served from the table;
+     *                        temperatures outside the range fall back to
+     *                        {@code Math.exp}
+     */
+    public MetropolisTable(double min_temperature, double max_temperature) {
+        if (min_temperature <= 0 || max_temperature <= min_temperature) {
+            throw new IllegalArgumentException("Temperatures must satisfy 0 < min < max.");
+        }
+        this.logMin = Math.log(min_temperature);
+        this.bucketWidth = (Math.log(max_temperature) - logMin) / BUCKETS;
+        this.probabilities = new double[BUCKETS * (MAX_DROP + 1)];
+
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            double temperature = Math.exp(logMin + (bucket + 0.5) * bucketWidth);
+            for (int drop = 0; drop <= MAX_DROP; drop++) {
+                probabilities[bucket * (MAX_DROP + 1) + drop] = Math.exp(-drop / temperature);
+            }
+        }
+    }
+
+    /**
+     * Returns exp(delta / temperature) for a non-improving move.
+     *
+     * @param delta       the fitness change, at most 0
+     * @param temperature the current temperature
+     * @return the probability of accepting the move
+     */
+    public double probability(int delta, double temperature) {
+        if (temperature < cachedLow || temperature >= cachedHigh) {
+            int bucket = (int) Math.floor((Math.log(temperature) - logMin) / bucketWidth);
+            if (bucket < 0 || bucket >= BUCKETS) {
+                return Math.exp(delta / temperature);
+            }
+            cachedOffset = bucket * (MAX_DROP + 1);
+            cachedLow = Math.exp(logMin + bucket * bucketWidth);
+            cachedHigh = Math.exp(logMin + (bucket + 1) * bucketWidth);
+        }
+        if (-delta > MAX_DROP) {
+            return Math.exp(delta / temperature);
+        }
+        return probabilities[cachedOffset - delta];
+    }
+}
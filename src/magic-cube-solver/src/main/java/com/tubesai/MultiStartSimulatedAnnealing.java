@@ -0,0 +1,122 @@
+package com.tubesai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs several {@link SimulatedAnnealing} chains side by side on a thread
+ * pool. The first chain starts from the given cube, the others from random
+ * cubes. Every new best of a chain is published to a shared incumbent, and a
+ * chain that has not improved for stall_iterations proposals continues from
+ * the incumbent. All chains stop once one of them solves the cube.
+ *
+ * The graph data of the chains is merged point by point, so each point holds
+ * the proposals of every chain in the same block of 1000 iterations.
+ */
+public class MultiStartSimulatedAnnealing implements IAlgorithm {
+    private int chains;
+    private double initial_temperature;
+    private double final_temperature;
+    private double cooling_rate;
+    private long stall_iterations;
+    private int threads;
+    private GraphData graphData;
+
+    public MultiStartSimulatedAnnealing(int chains, double initial_temperature, double final_temperature,
+            double cooling_rate, long stall_iterations) {
+        this(chains, initial_temperature, final_temperature, cooling_rate, stall_iterations,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param chains              the number of annealing chains
+     * @param initial_temperature the starting temperature of every chain
+     * @param final_temperature   the temperature at which a chain stops
+     * @param cooling_rate        the geometric cooling rate of every chain
+     * @param stall_iterations    proposals without a new best before a chain
+     *                            continues from the incumbent
+     * @param threads             the number of threads running the chains
+     */
+    public MultiStartSimulatedAnnealing(int chains, double initial_temperature, double final_temperature,
+            double cooling_rate, long stall_iterations, int threads) {
+        if (chains < 1 || threads < 1) {
+            throw new IllegalArgumentException("Chains and threads must be at least 1.");
+        }
+        this.chains = chains;
+        this.initial_temperature = initial_temperature;
+        this.final_temperature = final_temperature;
+        this.cooling_rate = cooling_rate;
+        this.stall_iterations = stall_iterations;
+        this.threads = threads;
+        this.graphData = new GraphData(true);
+    }
+
+    @Override
+    public MagicCube getSolvedCube(MagicCube cube) {
+        AtomicReference<MagicCube> incumbent = new AtomicReference<>(new MagicCube(cube));
+        SimulatedAnnealing[] annealers = new SimulatedAnnealing[chains];
+        List<Callable<MagicCube>> tasks = new ArrayList<>();
+        for (int i = 0; i < chains; i++) {
+            SimulatedAnnealing annealer = new SimulatedAnnealing(initial_temperature, final_temperature,
+                    new GeometricCooling(cooling_rate));
+            annealer.shareIncumbent(incumbent, stall_iterations);
+            annealers[i] = annealer;
+
+            MagicCube initial = i == 0 ? new MagicCube(cube) : new MagicCube(MagicCube.SIZE);
+            tasks.add(() -> annealer.getSolvedCube(initial));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(chains, threads));
+        MagicCube bestCube = new MagicCube(cube);
+        try {
+            for (Future<MagicCube> future : executor.invokeAll(tasks)) {
+                MagicCube result = future.get();
+                if (result.getFitness() > bestCube.getFitness()) {
+                    bestCube = result;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Annealing chain failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Incumbent bisa lebih baik dari hasil chain mana pun jika chain terhenti lebih awal
+        if (incumbent.get().getFitness() > bestCube.getFitness()) {
+            bestCube = incumbent.get();
+        }
+
+        graphData = new GraphData(true);
+        graphData.setIterationsPerPoint(annealers[0].getGraphData().getIterationsPerPoint());
+        int restarts = 0;
+        for (SimulatedAnnealing annealer : annealers) {
+            graphData.merge(annealer.getGraphData());
+            restarts += annealer.getRestarts();
+        }
+
+        System.out.println("Number of chains: " + chains);
+        System.out.println("Restarts from incumbent: " + restarts);
+        return new MagicCube(bestCube);
+    }
+
+    public int getChains() {
+        return chains;
+    }
+
+    public long getStallIterations() {
+        return stall_iterations;
+    }
+
+    @Override
+    public GraphData getGraphData() {
+        return graphData;
+    }
+}
@@ -0,0 +1,35 @@
+package com.tubesai;
+
+/**
+ * Order crossover (OX). The child takes the segment from the first parent,
+ * then fills the remaining cells, starting after the segment and wrapping
+ * around, with the genes of the second parent in their order from the same
+ * place, skipping genes already in the segment.
+ */
+public class OrderCrossover implements ICrossover {
+    private final int[] position = new int[MagicCube.CELL_COUNT + 1]; // posisi setiap nilai pada parent pertama
+
+    @Override
+    public void crossover(int[] genes1, int offset1, int[] genes2, int offset2, int[] child, int childOffset,
+            int cut1, int cut2) {
+        int n = MagicCube.CELL_COUNT;
+        for (int i = 0; i < n; i++) {
+            position[genes1[offset1 + i]] = i;
+        }
+
+        for (int i = cut1; i <= cut2; i++) {
+            child[childOffset + i] = genes1[offset1 + i];
+        }
+
+        int write = (cut2 + 1) % n;
+        for (int k = 1; k <= n; k++) {
+            int gene = genes2[offset2 + (cut2 + k) % n];
+            int at = position[gene];
+            if (at >= cut1 && at <= cut2) {
+                continue;
+            }
+            child[childOffset + write] = gene;
+            write = (write + 1) % n;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.tubesai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Parallel tempering (replica exchange): several annealing replicas run at
+ * fixed temperatures, spaced geometrically between the lowest and highest
+ * temperature, each on its own thread. Every round each replica makes a batch
+ * of Metropolis proposals, then neighbouring replicas try to swap states with
+ * probability min(1, exp((f_j - f_i) * (1/T_i - 1/T_j))). Good states drift
+ * down to the cold replicas while the hot ones keep exploring.
+ * 
+ * The graph data holds one iteration per round with the fitness and the
+ * acceptance rate of every replica.
+ */
+public class ParallelTempering implements IAlgorithm {
+    private int replicas;
+    private double min_temperature;
+    private double max_temperature;
+    private int exchange_interval;
+    private int max_rounds;
+    private GraphData graphData;
+
+    /**
+     * @param replicas          the number of replicas, at least 2
+     * @param min_temperature   the temperature of the coldest replica
+     * @param max_temperature   the temperature of the hottest replica
+     * @param exchange_interval the number of proposals each replica makes
+     *                          between exchange attempts
+     * @param max_rounds        the maximum number of exchange rounds
+     */
+    public ParallelTempering(int replicas, double min_temperature, double max_temperature, int exchange_interval,
+            int max_rounds) {
+        if (replicas < 2) {
+            throw new IllegalArgumentException("Parallel tempering needs at least 2 replicas.");
+        }
+        if (min_temperature <= 0 || max_temperature < min_temperature) {
+            throw new IllegalArgumentException("Temperatures must satisfy 0 < min <= max.");
+        }
+        this.replicas = replicas;
+        this.min_temperature = min_temperature;
+        this.max_temperature = max_temperature;
+        this.exchange_interval = exchange_interval;
+        this.max_rounds = max_rounds;
+        this.graphData = new GraphData(true);
+    }
+
+    @Override
+    public MagicCube getSolvedCube(MagicCube cube) {
+        SplittableRandom rand = new SplittableRandom();
+        Replica[] ladder = new Replica[replicas];
+        for (int i = 0; i < replicas; i++) {
+            double temperature = min_temperature
+                    * Math.pow(max_temperature / min_temperature, (double) i / (replicas - 1));
+            ladder[i] = new Replica(temperature, new MagicCube(cube), rand.split());
+        }
+
+        MagicCube bestCube = new MagicCube(cube);
+        int exchanges = 0;
+        int localOptimumFrequency = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(replicas, Runtime.getRuntime().availableProcessors()));
+
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (Replica replica : ladder) {
+                tasks.add(() -> {
+                    replica.run(exchange_interval);
+                    return null;
+                });
+            }
+
+            int round = 0;
+            while (round < max_rounds && bestCube.getFitness() < MagicCube.LINE_COUNT) {
+                round++;
+                for (Future<Void> future : executor.invokeAll(tasks)) {
+                    future.get();
+                }
+
+                // Tukar state antar replika bertetangga, pasangan genap dan ganjil bergantian
+                for (int i = round % 2; i + 1 < replicas; i += 2) {
+                    Replica cold = ladder[i];
+                    Replica hot = ladder[i + 1];
+                    double exchangeProbability = Math.exp((hot.cube.getFitness() - cold.cube.getFitness())
+                            * (1 / cold.temperature - 1 / hot.temperature));
+                    if (rand.nextDouble() < exchangeProbability) {
+                        MagicCube temp = cold.cube;
+                        cold.cube = hot.cube;
+                        hot.cube = temp;
+                        exchanges++;
+                    }
+                }
+
+                for (Replica replica : ladder) {
+                    graphData.addData(replica.cube.getFitness(), (double) replica.accepted / exchange_interval);
+                    localOptimumFrequency += replica.notImproving;
+                    if (replica.best.getFitness() > bestCube.getFitness()) {
+                        bestCube.copyFrom(replica.best);
+                    }
+                    replica.accepted = 0;
+                    replica.notImproving = 0;
+                }
+                graphData.finishIteration();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Replica failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        System.out.println("Number of rounds: " + graphData.getTotalIterations());
+        System.out.println("Number of exchanges: " + exchanges);
+        System.out.println("Local Optimum Stuck Frequency: " + localOptimumFrequency);
+        graphData.setLocalOptimumFrequency(localOptimumFrequency);
+        return bestCube;
+    }
+
+    /**
+     * One annealing chain at a fixed temperature. Its cube is swapped with a
+     * neighbouring replica's during exchanges, which only happen while no
+     * replica is running.
+     */
+    private static class Replica {
+        private final double temperature;
+        private final MetropolisTable metropolisTable; // tidak thread-safe, satu per replica
+        private final SplittableRandom rand;
+        private MagicCube cube;
+        private final MagicCube best;
+        private int accepted;
+        private int notImproving;
+
+        Replica(double temperature, MagicCube cube, SplittableRandom rand) {
+            this.temperature = temperature;
+            // Suhu tetap, jadi bucket yang di-cache selalu kena setelah lookup pertama
+            this.metropolisTable = new MetropolisTable(temperature / 2, temperature * 2);
+            this.cube = cube;
+            this.best = new MagicCube(cube);
+            this.rand = rand;
+        }
+
+        /**
+         * Makes the given number of Metropolis proposals at this replica's
+         * temperature, with the same {@link MetropolisTable} acceptance as
+         * simulated annealing.
+         */
+        void run(int steps) {
+            for (int step = 0; step < steps; step++) {
+                int index1 = rand.nextInt(MagicCube.CELL_COUNT);
+                int index2 = rand.nextInt(MagicCube.CELL_COUNT);
+                int currentFitness = cube.getFitness();
+                int delta = cube.peekSwapDelta(index1, index2);
+                int neighbourFitness = currentFitness + delta;
+
+                if (delta <= 0) {
+                    notImproving++;
+                }
+
+                if (delta >= 0 || rand.nextDouble() < metropolisTable.probability(delta, temperature)) {
+                    cube.moveToNeighbour(index1, index2);
+                    accepted++;
+                    if (neighbourFitness > best.getFitness()) {
+                        best.copyFrom(cube);
+                    }
+                }
+            }
+        }
+    }
+
+    public int getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public GraphData getGraphData() {
+        return graphData;
+    }
+}
@@ -0,0 +1,34 @@
+package com.tubesai;
+
+/**
+ * Partially mapped crossover. The child takes the segment from the first
+ * parent and every other cell from the second parent. A gene of the second
+ * parent that already sits in the segment is replaced by following the
+ * mapping segment cell -> gene of the second parent at that cell, found
+ * through the inverse position array of the first parent.
+ */
+public class PmxCrossover implements ICrossover {
+    private final int[] position = new int[MagicCube.CELL_COUNT + 1]; // posisi setiap nilai pada parent pertama
+
+    @Override
+    public void crossover(int[] genes1, int offset1, int[] genes2, int offset2, int[] child, int childOffset,
+            int cut1, int cut2) {
+        for (int i = 0; i < MagicCube.CELL_COUNT; i++) {
+            position[genes1[offset1 + i]] = i;
+        }
+
+        for (int i = 0; i < MagicCube.CELL_COUNT; i++) {
+            if (i >= cut1 && i <= cut2) {
+                child[childOffset + i] = genes1[offset1 + i];
+                continue;
+            }
+            int gene = genes2[offset2 + i];
+            int at = position[gene];
+            while (at >= cut1 && at <= cut2) {
+                gene = genes2[offset2 + at];
+                at = position[gene];
+            }
+            child[childOffset + i] = gene;
+        }
+    }
+}
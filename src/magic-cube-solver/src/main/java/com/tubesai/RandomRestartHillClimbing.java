@@ -0,0 +1,138 @@
+package com.tubesai;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs many independent {@link HillClimbingSideMove} searches on a thread
+ * pool, each from its own random cube, and returns the best result. All
+ * restarts stop as soon as one of them solves the cube.
+ * 
+ * The graph data holds one iteration per finished restart, in restart order,
+ * whose value is that restart's final fitness.
+ */
+public class RandomRestartHillClimbing implements IAlgorithm {
+    private int restarts;
+    private int max_side_moves;
+    private int threads;
+    private GraphData graphData;
+
+    public RandomRestartHillClimbing(int restarts, int max_side_moves) {
+        this(restarts, max_side_moves, Runtime.getRuntime().availableProcessors());
+    }
+
+    public RandomRestartHillClimbing(int restarts, int max_side_moves, int threads) {
+        this.restarts = restarts;
+        this.max_side_moves = max_side_moves;
+        this.threads = threads;
+        this.graphData = new GraphData(false);
+    }
+
+    /**
+     * Solves the cube with independent hill-climbing restarts. The first
+     * restart starts from the given cube, the others from random cubes.
+     *
+     * @param cube the initial MagicCube
+     * @return the best cube found by any restart
+     */
+    @Override
+    public MagicCube getSolvedCube(MagicCube cube) {
+        int[] results = new int[restarts]; // fitness akhir setiap restart, -1 jika tidak selesai
+        Arrays.fill(results, -1);
+        MagicCube bestCube = new MagicCube(cube);
+        int completed = 0;
+        List<Future<MagicCube>> futures = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CompletionService<MagicCube> completion = new ExecutorCompletionService<>(executor);
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < restarts; i++) {
+            final int restart = i;
+            futures.add(completion.submit(() -> {
+                MagicCube initial = restart == 0 ? new MagicCube(cube) : new MagicCube(MagicCube.SIZE);
+                HillClimbingSideMove hillClimbing = new HillClimbingSideMove(max_side_moves);
+                hillClimbing.setFocused(true);
+                MagicCube solved = hillClimbing.getSolvedCube(initial);
+                if (Thread.currentThread().isInterrupted()) {
+                    return null; // Restart dihentikan sebelum selesai
+                }
+                results[restart] = solved.getFitness();
+                return solved;
+            }));
+        }
+
+        // Ambil hasil sesuai urutan selesai, batalkan sisa restart jika cube terpecahkan
+        try {
+            for (int i = 0; i < restarts; i++) {
+                Future<MagicCube> future = completion.take();
+                if (future.isCancelled()) {
+                    continue;
+                }
+                MagicCube solved = future.get();
+                if (solved == null) {
+                    continue;
+                }
+                completed++;
+                if (solved.getFitness() > bestCube.getFitness()) {
+                    bestCube = solved;
+                }
+                if (solved.getFitness() >= MagicCube.LINE_COUNT) {
+                    futures.forEach(f -> f.cancel(true));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Restart failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        // Tunggu restart yang dibatalkan berhenti sebelum hasilnya dibaca
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long elapsed = Math.max(1, System.currentTimeMillis() - start);
+
+        graphData = new GraphData(false);
+        Map<Integer, Integer> distribution = new TreeMap<>();
+        for (int result : results) {
+            if (result >= 0) {
+                graphData.addData(result);
+                graphData.finishIteration();
+                distribution.merge(result, 1, Integer::sum);
+            }
+        }
+        graphData.setRestartsPerSecond(completed * 1000.0 / elapsed);
+        graphData.setRestartDistribution(distribution);
+
+        System.out.println("Number of restarts: " + completed);
+        System.out.println("Restarts per second: " + graphData.getRestartsPerSecond());
+        System.out.println("Restart fitness distribution (fitness=count): " + graphData.getRestartDistribution());
+        return bestCube;
+    }
+
+    public int getRestarts() {
+        return restarts;
+    }
+
+    public int getMaxSideMoves() {
+        return max_side_moves;
+    }
+
+    @Override
+    public GraphData getGraphData() {
+        return graphData;
+    }
+}
@@ -0,0 +1,43 @@
+package com.tubesai;
+
+/**
+ * Wraps another schedule and reheats when the search stalls: once no new best
+ * cube has been found for stall_iterations proposals, the temperature is
+ * multiplied by reheat_factor instead of following the wrapped schedule.
+ */
+public class ReheatingCooling implements ICoolingSchedule {
+    private final ICoolingSchedule schedule;
+    private final int stall_iterations;
+    private final double reheat_factor;
+
+    private int sinceImprovement;
+    private int reheats;
+
+    public ReheatingCooling(ICoolingSchedule schedule, int stall_iterations, double reheat_factor) {
+        this.schedule = schedule;
+        this.stall_iterations = stall_iterations;
+        this.reheat_factor = reheat_factor;
+    }
+
+    @Override
+    public double nextTemperature(double temperature, boolean accepted, boolean improved) {
+        sinceImprovement = improved ? 0 : sinceImprovement + 1;
+        if (sinceImprovement >= stall_iterations) {
+            sinceImprovement = 0;
+            reheats++;
+            return temperature * reheat_factor;
+        }
+        return schedule.nextTemperature(temperature, accepted, improved);
+    }
+
+    @Override
+    public void reset() {
+        schedule.reset();
+        sinceImprovement = 0;
+        reheats = 0;
+    }
+
+    public int getReheats() {
+        return reheats;
+    }
+}
@@ -0,0 +1,44 @@
+package com.tubesai;
+
+import java.util.SplittableRandom;
+
+/**
+ * Fitness-proportionate selection with weight fitness + 1, so members with
+ * fitness 0 can still be picked. The cumulative weights are built once per
+ * generation and every pick is a binary search, O(log n).
+ */
+public class RouletteSelection implements ISelection {
+    private int[] cumulative = new int[0];
+    private int size;
+
+    @Override
+    public void prepare(int[] fitness, int size) {
+        if (cumulative.length < size) {
+            cumulative = new int[size];
+        }
+        this.size = size;
+        int sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += fitness[i] + 1;
+            cumulative[i] = sum;
+        }
+    }
+
+    @Override
+    public int select(SplittableRandom rand) {
+        int select = rand.nextInt(cumulative[size - 1]);
+
+        // Cari anggota pertama dengan bobot kumulatif lebih besar dari select
+        int low = 0;
+        int high = size - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] > select) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+}
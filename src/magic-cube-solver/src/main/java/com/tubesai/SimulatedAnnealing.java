@@ -1,22 +1,60 @@
 package com.tubesai;
 
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
 // import java.math.BigDecimal;
 
 public class SimulatedAnnealing implements IAlgorithm {
-    private double initial_temperature; // set to 10
-    private double cooling_rate; // set to 0.000001
+    // Jumlah iterasi yang digabung menjadi satu titik pada grafik
+    private static final int GRAPH_ITERATIONS_PER_POINT = 1000;
+    // Rentang suhu yang dilayani tabel Metropolis, di luar itu memakai Math.exp
+    private static final double TABLE_MIN_TEMPERATURE = 1e-3;
+    private static final double TABLE_MAX_TEMPERATURE = 1e3;
+    // Batch sekecil ini lebih cepat dihitung di satu thread
+    private static final int PARALLEL_BATCH_THRESHOLD = 256;
+    private static final int BATCH_GRAIN = 128;
+
+    private double initial_temperature; // set to 1
+    private double final_temperature; // set to 0.05
+    private ICoolingSchedule cooling_schedule;
+    private long max_iterations = Long.MAX_VALUE;
+    private final MetropolisTable metropolisTable;
+    private int batch_size = 1;
+    private int[] batchIndex1 = new int[1];
+    private int[] batchIndex2 = new int[1];
+    private int[] batchDeltas = new int[1];
+    private AtomicReference<MagicCube> incumbent; // cube terbaik yang dibagi antar chain, null jika sendirian
+    private long stall_iterations;
+    private int restarts;
     private ArrayList<Double> probabilityHistory; // <index + 1> represents the iteration, <value> represents the
                                                   // probability
     // private int counter = 0;
     private GraphData graphData;
+    private final SplittableRandom rand;
 
     public SimulatedAnnealing(double initial_temperature, double cooling_rate) {
+        this(initial_temperature, 1, new GeometricCooling(cooling_rate));
+    }
+
+    /**
+     * @param initial_temperature the starting temperature
+     * @param final_temperature   the run stops once the temperature drops to
+     *                            this value
+     * @param cooling_schedule    decides the temperature after every proposal
+     */
+    public SimulatedAnnealing(double initial_temperature, double final_temperature,
+            ICoolingSchedule cooling_schedule) {
         this.initial_temperature = initial_temperature;
-        this.cooling_rate = cooling_rate;
+        this.final_temperature = final_temperature;
+        this.cooling_schedule = cooling_schedule;
+        this.metropolisTable = new MetropolisTable(TABLE_MIN_TEMPERATURE, TABLE_MAX_TEMPERATURE);
         this.probabilityHistory = new ArrayList<Double>();
         this.graphData = new GraphData(true);
+        this.graphData.setIterationsPerPoint(GRAPH_ITERATIONS_PER_POINT);
+        this.rand = new SplittableRandom();
     }
 
     /**
@@ -28,21 +66,7 @@ public class SimulatedAnnealing implements IAlgorithm {
      */
     public MagicCube getRandomNeighbour(MagicCube cube) {
         MagicCube neighbor = new MagicCube(cube);
-
-        // Get random two Positions
-        Random rand = new Random();
-        int x1 = rand.nextInt(cube.getSize());
-        int y1 = rand.nextInt(cube.getSize());
-        int z1 = rand.nextInt(cube.getSize());
-        Position el1 = new Position(x1, y1, z1);
-
-        int x2 = rand.nextInt(cube.getSize());
-        int y2 = rand.nextInt(cube.getSize());
-        int z2 = rand.nextInt(cube.getSize());
-        Position el2 = new Position(x2, y2, z2);
-
-        // Swap the two elements
-        neighbor.moveToNeighbour(el1, el2);
+        neighbor.moveToNeighbour(rand.nextInt(MagicCube.CELL_COUNT), rand.nextInt(MagicCube.CELL_COUNT));
         return neighbor;
     }
 
@@ -50,6 +74,24 @@ public class SimulatedAnnealing implements IAlgorithm {
      * Solves the given MagicCube using the Simulated Annealing algorithm. Resets
      * and updates the probabilityHistory attribute. With HEURISTIC to update the
      * best cube if the current cube has a better fitness.
+     * 
+     * The loop allocates nothing per iteration: each proposal is scored with
+     * {@link MagicCube#peekSwapDelta(int, int)} and only applied to the current
+     * cube when accepted, so a rejection needs no rollback. The best cube is
+     * kept with {@link MagicCube#copyFrom(MagicCube)}, and the graph data
+     * groups every 1000 iterations into one point.
+     *
+     * A worse neighbour is accepted with the Metropolis rule: a uniform draw
+     * is compared against exp(delta / T), which is read from a
+     * {@link MetropolisTable} instead of being computed every iteration.
+     *
+     * With a batch size above one, the deltas of a whole batch of proposals
+     * are scored up front, on the common fork-join pool for large batches, and
+     * then tested in order. The first accepted proposal ends the batch, since
+     * the rest were scored against the old state, so the chain is the same as
+     * one drawing proposals one at a time. The batch grows while whole batches
+     * are rejected and shrinks after an acceptance, up to the batch size, so
+     * hot phases do not waste most of their scoring.
      *
      * @param cube the initial MagicCube to be solved
      * @return the solved MagicCube with the best fitness found
@@ -59,40 +101,82 @@ public class SimulatedAnnealing implements IAlgorithm {
         double temperature = initial_temperature;
         MagicCube currentCube = new MagicCube(cube);
         MagicCube bestCube = new MagicCube(cube);
-        int iteration = 0;
+        long iteration = 0;
 
         probabilityHistory.clear();
+        cooling_schedule.reset();
 
         int localOptimumFrequency = 0;
+        int window = 1;
+        long lastImprovement = 0;
+        restarts = 0;
 
-        while (temperature > 1) {
-            iteration++;
-            graphData.finishIteration();
+        while (temperature > final_temperature && iteration < max_iterations
+                && bestCube.getFitness() < MagicCube.LINE_COUNT
+                && (incumbent == null || incumbent.get().getFitness() < MagicCube.LINE_COUNT)) {
+            // Chain yang macet lanjut dari incumbent jika incumbent lebih baik
+            if (incumbent != null && iteration - lastImprovement >= stall_iterations) {
+                MagicCube shared = incumbent.get();
+                if (shared.getFitness() > currentCube.getFitness()) {
+                    currentCube.copyFrom(shared);
+                    restarts++;
+                }
+                lastImprovement = iteration;
+            }
 
-            MagicCube neighbour = getRandomNeighbour(currentCube);
+            // Ambil satu batch usulan swap lalu hitung semua delta-nya sekaligus
+            int proposals = (int) Math.min(window, max_iterations - iteration);
+            for (int i = 0; i < proposals; i++) {
+                batchIndex1[i] = rand.nextInt(MagicCube.CELL_COUNT);
+                batchIndex2[i] = rand.nextInt(MagicCube.CELL_COUNT);
+            }
+            scoreBatch(currentCube, proposals);
+
+            // Uji Metropolis berurutan, berhenti pada usulan pertama yang diterima
             int currentFitness = currentCube.getFitness();
-            int neighbourFitness = neighbour.getFitness();
+            for (int i = 0; i < proposals; i++) {
+                iteration++;
+                graphData.finishIteration();
 
-            double accProbability = acceptanceProbability(currentFitness, neighbourFitness, temperature);
+                int neighbourFitness = currentFitness + batchDeltas[i];
 
-            graphData.addData(neighbourFitness, accProbability);
+                // Peluang Metropolis dari tabel, tanpa Math.exp pada setiap iterasi
+                double accProbability = neighbourFitness > currentFitness ? 1.0
+                        : metropolisTable.probability(neighbourFitness - currentFitness, temperature);
 
-            // Hitung frekuensi stuck local optimum
-            if (!(neighbourFitness > currentFitness)) {
-                localOptimumFrequency++;
-            }
+                graphData.addData(neighbourFitness, accProbability);
 
-            if (accProbability > 0.95) {
-                currentCube = new MagicCube(neighbour);
-            }
+                // Hitung frekuensi stuck local optimum
+                if (!(neighbourFitness > currentFitness)) {
+                    localOptimumFrequency++;
+                }
 
-            // HEURISTIC: Update the best cube if the current cube has a better fitness
-            if (currentFitness > bestCube.getFitness()) {
-                bestCube = new MagicCube(currentCube);
-                // System.out.println("Best Fitness: " + bestCube.getFitness());
-                // System.out.println("Temperature: " + temperature);
+                boolean accepted = accProbability >= 1.0 || rand.nextDouble() < accProbability;
+                boolean improved = false;
+                if (accepted) {
+                    currentCube.moveToNeighbour(batchIndex1[i], batchIndex2[i]);
+
+                    // HEURISTIC: Update the best cube if the current cube has a better fitness
+                    if (neighbourFitness > bestCube.getFitness()) {
+                        bestCube.copyFrom(currentCube);
+                        improved = true;
+                        lastImprovement = iteration;
+                        publish(bestCube);
+                    }
+                }
+                temperature = cooling_schedule.nextTemperature(temperature, accepted, improved);
+
+                // Sisa batch dihitung dari state lama, jadi dibuang setelah ada yang diterima
+                if (accepted) {
+                    window = Math.max(1, window >> 1);
+                    break;
+                }
+                if (i == proposals - 1) {
+                    window = Math.min(batch_size, window << 1);
+                } else if (temperature <= final_temperature) {
+                    break;
+                }
             }
-            temperature *= 1 - cooling_rate;
         }
 
         System.out.println("Number of iterations: " + iteration);
@@ -102,21 +186,129 @@ public class SimulatedAnnealing implements IAlgorithm {
     }
 
     /**
-     * Calculates the acceptance probability of moving to a neighboring solution
-     * in the simulated annealing algorithm.
+     * Publishes the cube to the shared incumbent if it beats it. Only a copy
+     * is published, so other chains can read it while this chain moves on.
+     */
+    private void publish(MagicCube cube) {
+        if (incumbent != null && cube.getFitness() > incumbent.get().getFitness()) {
+            MagicCube copy = new MagicCube(cube);
+            incumbent.accumulateAndGet(copy, (a, b) -> b.getFitness() > a.getFitness() ? b : a);
+        }
+    }
+
+    /**
+     * Shares a best-so-far cube with other chains. Every new best of this
+     * chain is published to the incumbent. After stall_iterations proposals
+     * without a new best, the chain continues from the incumbent if it is
+     * better than the current state. The run also stops once the incumbent
+     * solves the cube.
+     *
+     * @param incumbent        the shared best cube, or null to run alone
+     * @param stall_iterations proposals without improvement before restarting
+     */
+    public void shareIncumbent(AtomicReference<MagicCube> incumbent, long stall_iterations) {
+        if (incumbent != null && stall_iterations <= 0) {
+            throw new IllegalArgumentException("Stall iterations must be positive.");
+        }
+        this.incumbent = incumbent;
+        this.stall_iterations = stall_iterations;
+    }
+
+    /**
+     * Returns how many times the last run restarted from the incumbent.
+     *
+     * @return the number of restarts of the last run
+     */
+    public int getRestarts() {
+        return restarts;
+    }
+
+    /**
+     * Scores the first {@code proposals} swaps of the batch against the given
+     * cube. The cube is only read, so large batches are split across the
+     * common fork-join pool.
+     */
+    private void scoreBatch(MagicCube cube, int proposals) {
+        if (proposals >= PARALLEL_BATCH_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            ForkJoinPool.commonPool().invoke(new ScoreTask(cube, batchIndex1, batchIndex2, batchDeltas, 0, proposals));
+        } else {
+            scoreRange(cube, batchIndex1, batchIndex2, batchDeltas, 0, proposals);
+        }
+    }
+
+    private static void scoreRange(MagicCube cube, int[] index1, int[] index2, int[] deltas, int from, int to) {
+        for (int i = from; i < to; i++) {
+            deltas[i] = cube.peekSwapDelta(index1[i], index2[i]);
+        }
+    }
+
+    private static class ScoreTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final MagicCube cube;
+        private final int[] index1;
+        private final int[] index2;
+        private final int[] deltas;
+        private final int from;
+        private final int to;
+
+        ScoreTask(MagicCube cube, int[] index1, int[] index2, int[] deltas, int from, int to) {
+            this.cube = cube;
+            this.index1 = index1;
+            this.index2 = index2;
+            this.deltas = deltas;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_GRAIN) {
+                scoreRange(cube, index1, index2, deltas, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ScoreTask(cube, index1, index2, deltas, from, mid),
+                    new ScoreTask(cube, index1, index2, deltas, mid, to));
+        }
+    }
+
+    /**
+     * Sets how many proposals are drawn and scored together before they are
+     * tested in order. A size of 1 is the plain one-at-a-time chain.
      *
-     * @param currentFitness   the fitness value of the current solution
-     * @param neighbourFitness the fitness value of the neighboring solution
-     * @param temperature      the current temperature in the simulated annealing
-     *                         process
-     * @return the acceptance probability of moving to the neighboring solution
+     * @param batch_size the number of proposals per batch, at least 1
      */
-    private double acceptanceProbability(int currentFitness, int neighbourFitness, double temperature) {
-        if (neighbourFitness > currentFitness) {
-            // counter++;
-            return 1.0;
+    public void setBatchSize(int batch_size) {
+        if (batch_size < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1.");
         }
-        return Math.exp((neighbourFitness - currentFitness) / temperature);
+        this.batch_size = batch_size;
+        this.batchIndex1 = new int[batch_size];
+        this.batchIndex2 = new int[batch_size];
+        this.batchDeltas = new int[batch_size];
+    }
+
+    public int getBatchSize() {
+        return batch_size;
+    }
+
+    /**
+     * Caps the number of proposals per run, in addition to the final
+     * temperature. A run also stops as soon as the cube is solved.
+     *
+     * @param max_iterations the maximum number of proposals
+     */
+    public void setMaxIterations(long max_iterations) {
+        this.max_iterations = max_iterations;
+    }
+
+    public long getMaxIterations() {
+        return max_iterations;
+    }
+
+    public ICoolingSchedule getCoolingSchedule() {
+        return cooling_schedule;
     }
 
     /**
@@ -0,0 +1,64 @@
+package com.tubesai;
+
+import java.util.SplittableRandom;
+
+/**
+ * Stochastic universal sampling with weight fitness + 1. One random offset
+ * places size evenly spaced pointers on the cumulative weights, so the number
+ * of copies of each member stays within one of its expected count. The picks
+ * of a pass are made in one O(n) sweep, shuffled so that neighbours are not
+ * paired together, and handed out in turn; a new pass starts when they run
+ * out. Keeps state between calls, so one instance serves one thread.
+ */
+public class StochasticUniversalSampling implements ISelection {
+    private int[] cumulative = new int[0];
+    private int[] picks = new int[0];
+    private int size;
+    private int cursor;
+
+    @Override
+    public void prepare(int[] fitness, int size) {
+        if (cumulative.length < size) {
+            cumulative = new int[size];
+            picks = new int[size];
+        }
+        this.size = size;
+        int sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += fitness[i] + 1;
+            cumulative[i] = sum;
+        }
+        cursor = size;
+    }
+
+    @Override
+    public int select(SplittableRandom rand) {
+        if (cursor == size) {
+            samplePass(rand);
+        }
+        return picks[cursor++];
+    }
+
+    private void samplePass(SplittableRandom rand) {
+        double step = (double) cumulative[size - 1] / size;
+        double offset = rand.nextDouble();
+        int member = 0;
+        for (int i = 0; i < size; i++) {
+            // Dihitung ulang tiap titik agar galat pembulatan tidak menumpuk
+            double pointer = (offset + i) * step;
+            while (member < size - 1 && cumulative[member] <= pointer) {
+                member++;
+            }
+            picks[i] = member;
+        }
+
+        // Fisher-Yates agar pasangan parent tidak selalu bertetangga
+        for (int i = size - 1; i > 0; i--) {
+            int j = rand.nextInt(i + 1);
+            int temp = picks[i];
+            picks[i] = picks[j];
+            picks[j] = temp;
+        }
+        cursor = 0;
+    }
+}
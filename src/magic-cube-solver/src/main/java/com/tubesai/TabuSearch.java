@@ -0,0 +1,120 @@
+package com.tubesai;
+
+import java.util.Random;
+
+/**
+ * Tabu search over swaps of two cells. Every iteration moves to the best
+ * admissible neighbour, even when it is worse than the current state, and
+ * forbids undoing that move for a number of iterations (the tabu tenure).
+ * 
+ * The tabu memory is indexed by (cell, value): after swapping the values at
+ * two cells, putting either value back into the cell it left is tabu. A tabu
+ * move is still allowed when it would beat the best fitness found so far
+ * (aspiration).
+ */
+public class TabuSearch implements IAlgorithm {
+    private static final int VALUES = MagicCube.CELL_COUNT + 1;
+
+    private int max_iterations;
+    private int tabu_tenure;
+    private GraphData graphData;
+    private final Random rand = new Random();
+
+    public TabuSearch(int max_iterations, int tabu_tenure) {
+        this.max_iterations = max_iterations;
+        this.tabu_tenure = tabu_tenure;
+        this.graphData = new GraphData(false);
+    }
+
+    @Override
+    public MagicCube getSolvedCube(MagicCube cube) {
+        MagicCube current = new MagicCube(cube);
+        MagicCube bestCube = new MagicCube(cube);
+        // Iterasi terakhir saat nilai tertentu masih tabu untuk kembali ke sel tertentu
+        int[] tabuUntil = new int[MagicCube.CELL_COUNT * VALUES];
+
+        graphData.addData(current.getFitness());
+
+        for (int iteration = 1; iteration <= max_iterations; iteration++) {
+            if (bestCube.getFitness() >= MagicCube.LINE_COUNT) {
+                break;
+            }
+            graphData.finishIteration();
+
+            int move = getBestAdmissibleMove(current, bestCube.getFitness(), tabuUntil, iteration);
+            if (move < 0) {
+                break; // Semua tetangga tabu
+            }
+
+            int index1 = move / MagicCube.CELL_COUNT;
+            int index2 = move % MagicCube.CELL_COUNT;
+            tabuUntil[tabuKey(index1, current.getCubeElement(index1))] = iteration + tabu_tenure;
+            tabuUntil[tabuKey(index2, current.getCubeElement(index2))] = iteration + tabu_tenure;
+            current.moveToNeighbour(index1, index2);
+
+            graphData.addData(current.getFitness());
+            if (current.getFitness() > bestCube.getFitness()) {
+                bestCube.copyFrom(current);
+            }
+        }
+
+        System.out.println("Number of iterations: " + graphData.getIteration());
+        return bestCube;
+    }
+
+    /**
+     * Picks the swap with the highest resulting fitness among those that are
+     * not tabu or that satisfy the aspiration rule. Ties are broken uniformly
+     * at random so the search does not cycle over the same plateau moves.
+     *
+     * @return the move encoded as index1 * 125 + index2, or -1 if every move
+     *         is tabu
+     */
+    private int getBestAdmissibleMove(MagicCube cube, int bestFitness, int[] tabuUntil, int iteration) {
+        int fitness = cube.getFitness();
+        int bestMove = -1;
+        int bestDelta = Integer.MIN_VALUE;
+        int ties = 0;
+
+        for (int index1 = 0; index1 < MagicCube.CELL_COUNT; index1++) {
+            for (int index2 = index1 + 1; index2 < MagicCube.CELL_COUNT; index2++) {
+                int delta = cube.peekSwapDelta(index1, index2);
+                if (delta < bestDelta) {
+                    continue;
+                }
+
+                boolean tabu = tabuUntil[tabuKey(index1, cube.getCubeElement(index2))] >= iteration
+                        || tabuUntil[tabuKey(index2, cube.getCubeElement(index1))] >= iteration;
+                if (tabu && fitness + delta <= bestFitness) {
+                    continue;
+                }
+
+                if (delta > bestDelta) {
+                    bestDelta = delta;
+                    bestMove = index1 * MagicCube.CELL_COUNT + index2;
+                    ties = 1;
+                } else if (rand.nextInt(++ties) == 0) {
+                    bestMove = index1 * MagicCube.CELL_COUNT + index2;
+                }
+            }
+        }
+        return bestMove;
+    }
+
+    private static int tabuKey(int cell, int value) {
+        return cell * VALUES + value;
+    }
+
+    public int getMaxIterations() {
+        return max_iterations;
+    }
+
+    public int getTabuTenure() {
+        return tabu_tenure;
+    }
+
+    @Override
+    public GraphData getGraphData() {
+        return graphData;
+    }
+}
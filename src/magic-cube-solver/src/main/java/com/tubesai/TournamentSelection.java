@@ -0,0 +1,43 @@
+package com.tubesai;
+
+import java.util.SplittableRandom;
+
+/**
+ * Picks tournament_size random members and returns the fittest. Needs no
+ * table, so a pick is O(tournament_size), and the selection pressure does not
+ * depend on the scale of the fitness values.
+ */
+public class TournamentSelection implements ISelection {
+    private final int tournament_size;
+    private int[] fitness;
+    private int size;
+
+    public TournamentSelection(int tournament_size) {
+        if (tournament_size < 1) {
+            throw new IllegalArgumentException("Tournament size must be at least 1.");
+        }
+        this.tournament_size = tournament_size;
+    }
+
+    @Override
+    public void prepare(int[] fitness, int size) {
+        this.fitness = fitness;
+        this.size = size;
+    }
+
+    @Override
+    public int select(SplittableRandom rand) {
+        int best = rand.nextInt(size);
+        for (int i = 1; i < tournament_size; i++) {
+            int candidate = rand.nextInt(size);
+            if (fitness[candidate] > fitness[best]) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    public int getTournamentSize() {
+        return tournament_size;
+    }
+}